@@ -0,0 +1,63 @@
+package study.querydsl.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//* 페이지 하나를 인코딩하는 비용과 크기: JSON/Smile/CBOR x PageImpl/MemberPage
+//? 크기(bytes on the wire)는 @Setup에서 한 번 출력, 시간은 JMH 결과로 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberPageCodecBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    @Param({"pageImpl", "memberPage"})
+    String envelope;
+
+    @Param({"20", "1000"})
+    int pageSize;
+
+    ObjectMapper mapper;
+    Object page;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = switch (format) {
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            default -> new ObjectMapper();
+        };
+
+        List<MemberTeamDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new MemberTeamDto(100_000L + i, "member" + i, i % 100, 1L + i % 10, "team" + (i % 10)));
+        }
+        PageImpl<MemberTeamDto> pageImpl = new PageImpl<>(content, PageRequest.of(3, pageSize, Sort.by("username")), 100_000);
+        page = envelope.equals("pageImpl") ? pageImpl : MemberPage.of(pageImpl);
+
+        System.out.printf("%n%s/%s/%d rows: %d bytes%n", format, envelope, pageSize, mapper.writeValueAsBytes(page).length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(page);
+    }
+}
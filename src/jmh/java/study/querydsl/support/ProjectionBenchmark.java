@@ -0,0 +1,79 @@
+package study.querydsl.support;
+
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Projections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+//* row 하나를 DTO로 만드는 비용 비교 (DB 조회 비용 제외, FactoryExpression.newInstance만 측정)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProjectionBenchmark {
+
+    final Object[] memberRow = {"member1", 10};
+    final Object[] memberTeamRow = {1L, "member1", 10, 2L, "teamA"};
+
+    final FactoryExpression<MemberDto> querydslBean = Projections.bean(MemberDto.class, member.username, member.age);
+    final FactoryExpression<MemberDto> querydslFields = Projections.fields(MemberDto.class, member.username, member.age);
+    final FactoryExpression<MemberDto> querydslConstructor = Projections.constructor(MemberDto.class, member.username, member.age);
+    final FactoryExpression<MemberTeamDto> querydslWideConstructor = Projections.constructor(MemberTeamDto.class,
+            member.id, member.username, member.age, team.id, team.name);
+
+    final FactoryExpression<MemberDto> fastBean = FastProjections.bean(MemberDto.class, member.username, member.age);
+    final FactoryExpression<MemberDto> fastFields = FastProjections.fields(MemberDto.class, member.username, member.age);
+    final FactoryExpression<MemberDto> fastConstructor = FastProjections.constructor(MemberDto.class, member.username, member.age);
+    final FactoryExpression<MemberTeamDto> fastWideConstructor = FastProjections.constructor(MemberTeamDto.class,
+            member.id, member.username, member.age, team.id, team.name);
+
+    @Benchmark
+    public MemberDto querydslBean() {
+        return querydslBean.newInstance(memberRow);
+    }
+
+    @Benchmark
+    public MemberDto fastBean() {
+        return fastBean.newInstance(memberRow);
+    }
+
+    @Benchmark
+    public MemberDto querydslFields() {
+        return querydslFields.newInstance(memberRow);
+    }
+
+    @Benchmark
+    public MemberDto fastFields() {
+        return fastFields.newInstance(memberRow);
+    }
+
+    @Benchmark
+    public MemberDto querydslConstructor() {
+        return querydslConstructor.newInstance(memberRow);
+    }
+
+    @Benchmark
+    public MemberDto fastConstructor() {
+        return fastConstructor.newInstance(memberRow);
+    }
+
+    @Benchmark
+    public MemberTeamDto querydslWideConstructor() {
+        return querydslWideConstructor.newInstance(memberTeamRow);
+    }
+
+    @Benchmark
+    public MemberTeamDto fastWideConstructor() {
+        return fastWideConstructor.newInstance(memberTeamRow);
+    }
+}
@@ -0,0 +1,43 @@
+package study.querydsl.support;
+
+import com.querydsl.core.types.Predicate;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+//* 쿼리 1건당 계측 오버헤드 (where 모양 추출 + Timer/DistributionSummary 기록)
+//! 예산: 5µs 이하 (H2 임베디드 단건 조회도 수십 µs 이상이므로 10% 미만)
+//? 예산 자체는 QueryMetricsTest.overheadBudget이 테스트에서 확인하고, 여기서는 baseline 대비 정확한 값을 봄
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QueryMetricsBenchmark {
+
+    final QueryMetrics metrics = new QueryMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+    final Predicate where = member.username.eq("member1")
+            .and(team.name.eq("teamA"))
+            .and(member.age.goe(10))
+            .and(member.age.loe(40));
+    final List<Integer> rows = List.of(1, 2, 3);
+
+    @Benchmark
+    public List<Integer> baseline() {
+        return rows;
+    }
+
+    @Benchmark
+    public List<Integer> instrumented() {
+        return metrics.record("MemberRepository.search", "fetch", where, () -> rows, List::size);
+    }
+}
@@ -0,0 +1,103 @@
+package study.querydsl.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//* 라벨별 지연시간 히스토그램 2종
+//  - corrected: 원래 보냈어야 할 시각(스케줄 시각)부터 응답 완료까지 -> coordinated omission 보정값
+//  - service: 실제로 보낸 시각부터 응답 완료까지 -> 보정 전 값 (둘 차이가 크면 부하 생성기/서버가 밀린 것)
+public class LatencyReport {
+
+    //! 최대 1분까지 유효숫자 3자리
+    private static final long HIGHEST_TRACKABLE_NANOS = 60_000_000_000L;
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    public void record(String label, long intendedStartNanos, long actualStartNanos, long endNanos, boolean success) {
+        Series target = series.computeIfAbsent(label, key -> new Series());
+        target.corrected.recordValue(Math.min(endNanos - intendedStartNanos, HIGHEST_TRACKABLE_NANOS));
+        target.service.recordValue(Math.min(endNanos - actualStartNanos, HIGHEST_TRACKABLE_NANOS));
+        if (!success) {
+            target.errors.increment();
+        }
+    }
+
+    public void write(Path outputDir, double measuredSeconds, long scheduled, long peakInFlight) throws IOException {
+        Files.createDirectories(outputDir);
+
+        Map<String, Histogram> corrected = new TreeMap<>();
+        Map<String, Histogram> service = new TreeMap<>();
+        Map<String, Long> errors = new TreeMap<>();
+        Histogram totalCorrected = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        Histogram totalService = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            Histogram c = entry.getValue().corrected.getIntervalHistogram();
+            Histogram s = entry.getValue().service.getIntervalHistogram();
+            long e = entry.getValue().errors.sum();
+            corrected.put(entry.getKey(), c);
+            service.put(entry.getKey(), s);
+            errors.put(entry.getKey(), e);
+            totalCorrected.add(c);
+            totalService.add(s);
+            totalErrors += e;
+        }
+
+        StringBuilder text = new StringBuilder();
+        StringBuilder csv = new StringBuilder("label,count,errors,throughput_rps,p50_ms,p99_ms,p999_ms,max_ms,service_p50_ms,service_p99_ms,service_p999_ms\n");
+        text.append(String.format(Locale.ROOT, "scheduled=%d peak-in-flight=%d measured=%.1fs%n", scheduled, peakInFlight, measuredSeconds));
+        text.append(String.format(Locale.ROOT, "%-50s %8s %6s %9s %9s %9s %9s %9s | %9s %9s %9s%n",
+                "label", "count", "errors", "rps", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "svc p50", "svc p99", "svc p999"));
+        for (String label : corrected.keySet()) {
+            append(text, csv, label, corrected.get(label), service.get(label), errors.get(label), measuredSeconds);
+        }
+        append(text, csv, "TOTAL", totalCorrected, totalService, totalErrors, measuredSeconds);
+
+        System.out.print(text);
+        Files.writeString(outputDir.resolve("report.txt"), text, StandardCharsets.UTF_8);
+        Files.writeString(outputDir.resolve("report.csv"), csv, StandardCharsets.UTF_8);
+        //? HdrHistogram 플로터(hdrhistogram.github.io/HdrHistogram/plotFiles.html)에 그대로 넣을 수 있는 형식
+        writePercentiles(outputDir.resolve("corrected.hgrm"), totalCorrected);
+        writePercentiles(outputDir.resolve("service.hgrm"), totalService);
+    }
+
+    private static void append(StringBuilder text, StringBuilder csv, String label,
+                               Histogram corrected, Histogram service, long errors, double measuredSeconds) {
+        double rps = corrected.getTotalCount() / measuredSeconds;
+        text.append(String.format(Locale.ROOT, "%-50s %8d %6d %9.1f %9.2f %9.2f %9.2f %9.2f | %9.2f %9.2f %9.2f%n",
+                label, corrected.getTotalCount(), errors, rps,
+                millis(corrected, 50), millis(corrected, 99), millis(corrected, 99.9), corrected.getMaxValue() / 1_000_000.0,
+                millis(service, 50), millis(service, 99), millis(service, 99.9)));
+        csv.append(String.format(Locale.ROOT, "\"%s\",%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                label, corrected.getTotalCount(), errors, rps,
+                millis(corrected, 50), millis(corrected, 99), millis(corrected, 99.9), corrected.getMaxValue() / 1_000_000.0,
+                millis(service, 50), millis(service, 99), millis(service, 99.9)));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    private static void writePercentiles(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, 1_000_000.0);
+        }
+    }
+
+    private static class Series {
+        final Recorder corrected = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        final Recorder service = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+}
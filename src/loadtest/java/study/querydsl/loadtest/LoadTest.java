@@ -0,0 +1,111 @@
+package study.querydsl.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+//* open-loop 부하 생성기
+//  - 요청 시각은 응답과 무관하게 rate로 미리 정해짐 (i번째 요청 = start + i / rate)
+//  - 요청마다 가상 스레드 하나, 서버가 느려져도 다음 요청을 미루지 않음
+//  - 지연시간은 스케줄 시각부터 재서 생성기 쪽 밀림까지 포함 (coordinated omission 보정)
+// 사용: ./gradlew loadTest -PloadTestArgs="rate=500 duration=60"
+//      인자: baseUrl, rate(req/s), duration(s), warmup(s), mix, seed, timeoutMs, out
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "baseUrl", "http://localhost:8080",
+                "rate", "200",
+                "duration", "30",
+                "warmup", "10",
+                "mix", RequestMix.DEFAULT_WEIGHTS,
+                "seed", "42",
+                "timeoutMs", "10000",
+                "out", "build/reports/loadtest"));
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2 || !options.containsKey(pair[0])) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + arg + " (사용 가능: " + options.keySet() + ")");
+            }
+            options.put(pair[0], pair[1]);
+        }
+
+        double rate = Double.parseDouble(options.get("rate"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate는 0보다 커야 함: " + rate);
+        }
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("warmup")));
+        long measureNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("duration")));
+        String baseUrl = options.get("baseUrl");
+        Duration timeout = Duration.ofMillis(Long.parseLong(options.get("timeoutMs")));
+
+        RequestMix mix = new RequestMix(options.get("mix"));
+        SplittableRandom random = new SplittableRandom(Long.parseLong(options.get("seed")));
+        LatencyReport report = new LatencyReport();
+        AtomicLong inFlight = new AtomicLong();
+        AtomicLong peakInFlight = new AtomicLong();
+        long scheduled = 0;
+
+        System.out.printf("open-loop %s rate=%.1f/s warmup=%ss duration=%ss mix=%s%n",
+                baseUrl, rate, options.get("warmup"), options.get("duration"), options.get("mix"));
+
+        //! executor가 나중에 선언돼야 먼저 닫히면서(남은 요청 완료 대기) client보다 먼저 정리됨
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(timeout).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long measureStart = start + warmupNanos;
+            long end = measureStart + measureNanos;
+
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                // 스케줄 시각까지 대기 (이미 지났으면 바로 보냄 -> 밀린 만큼 corrected 지연시간에 반영)
+                long wait = intendedStart - System.nanoTime();
+                while (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    wait = intendedStart - System.nanoTime();
+                }
+
+                RequestMix.Request request = mix.next(random);
+                boolean measured = intendedStart >= measureStart;
+                if (measured) {
+                    scheduled++;
+                }
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                executor.execute(() -> {
+                    long actualStart = System.nanoTime();
+                    boolean success;
+                    try {
+                        HttpResponse<Void> response = client.send(
+                                HttpRequest.newBuilder(URI.create(baseUrl + request.path())).timeout(timeout).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        success = response.statusCode() / 100 == 2;
+                    } catch (Exception e) {
+                        success = false;
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    if (measured) {
+                        report.record(request.label(), intendedStart, actualStart, System.nanoTime(), success);
+                    }
+                });
+            }
+        }
+
+        report.write(Path.of(options.get("out")), measureNanos / 1_000_000_000.0, scheduled, peakInFlight.get());
+    }
+}
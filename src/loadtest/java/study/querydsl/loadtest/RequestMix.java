@@ -0,0 +1,105 @@
+package study.querydsl.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+//* 엔드포인트 가중치 + MemberSearchCondition 조합 + 페이지 깊이를 섞어서 요청 경로를 만든다
+//? 값은 InitMember(local 프로파일) 데이터 기준: member0~99, teamA/teamB, age 0~99
+public class RequestMix {
+
+    public static final String DEFAULT_WEIGHTS = "hello:1,v1:4,v2:5";
+
+    private static final String[] SHAPES = {"none", "username", "teamName", "ageRange", "teamName+ageRange"};
+    private static final int[] PAGES = {0, 0, 0, 1, 2, 4, 9, 49};
+    private static final int[] PAGE_SIZES = {10, 20};
+    private static final String[] SORTS = {null, null, "username", "age,desc", "teamName"};
+
+    private final List<String> endpoints = new ArrayList<>();
+    private final int[] cumulativeWeights;
+
+    public RequestMix(String weights) {
+        Map<String, Integer> parsed = new LinkedHashMap<>();
+        for (String entry : weights.split(",")) {
+            String[] pair = entry.trim().split(":");
+            if (pair.length != 2 || !List.of("hello", "v1", "v2").contains(pair[0])) {
+                throw new IllegalArgumentException("mix 항목은 hello|v1|v2:<가중치> 형식이어야 함: " + entry);
+            }
+            parsed.put(pair[0], Integer.parseInt(pair[1]));
+        }
+
+        cumulativeWeights = new int[parsed.size()];
+        int sum = 0;
+        for (Map.Entry<String, Integer> entry : parsed.entrySet()) {
+            sum += entry.getValue();
+            cumulativeWeights[endpoints.size()] = sum;
+            endpoints.add(entry.getKey());
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("mix 가중치 합이 0: " + weights);
+        }
+    }
+
+    public Request next(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (pick >= cumulativeWeights[index]) {
+            index++;
+        }
+
+        return switch (endpoints.get(index)) {
+            case "hello" -> new Request("GET /hello", "/hello");
+            case "v1" -> {
+                String shape = SHAPES[random.nextInt(SHAPES.length)];
+                yield new Request("GET /v1/members [" + shape + "]", "/v1/members" + query(condition(shape, random)));
+            }
+            default -> {
+                String shape = SHAPES[random.nextInt(SHAPES.length)];
+                int page = PAGES[random.nextInt(PAGES.length)];
+                Map<String, String> params = condition(shape, random);
+                params.put("page", String.valueOf(page));
+                params.put("size", String.valueOf(PAGE_SIZES[random.nextInt(PAGE_SIZES.length)]));
+                String sort = SORTS[random.nextInt(SORTS.length)];
+                if (sort != null) {
+                    params.put("sort", sort);
+                }
+                yield new Request("GET /v2/members [" + shape + ", page=" + (page < 4 ? "shallow" : "deep") + "]",
+                        "/v2/members" + query(params));
+            }
+        };
+    }
+
+    private static Map<String, String> condition(String shape, SplittableRandom random) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (shape.equals("username")) {
+            params.put("username", "member" + random.nextInt(100));
+        }
+        if (shape.startsWith("teamName")) {
+            params.put("teamName", random.nextBoolean() ? "teamA" : "teamB");
+        }
+        if (shape.endsWith("ageRange")) {
+            int from = random.nextInt(90);
+            params.put("ageGoe", String.valueOf(from));
+            params.put("ageLoe", String.valueOf(from + 1 + random.nextInt(30)));
+        }
+        return params;
+    }
+
+    private static String query(Map<String, String> params) {
+        if (params.isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner("&", "?", "");
+        params.forEach((name, value) -> joiner.add(name + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return joiner.toString();
+    }
+
+    //* label: 리포트 집계 단위 (엔드포인트 + 조건 모양 + 페이지 깊이), path: 실제 요청 경로
+    public record Request(String label, String path) {
+    }
+}
@@ -0,0 +1,35 @@
+package study.querydsl.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+//* /admin/** 는 로컬(loopback) 접속만 허용
+//  - 데이터를 바꾸는 작업(나이 일괄 변경, member_count 재계산, 범위 작업)과 실제 파라미터가 담긴 실행 계획 조회가 모두 여기에 있음
+//! 리버스 프록시 뒤에 두면 remoteAddr가 프록시 주소가 되므로 프록시에서 /admin 경로를 막아야 함
+@Slf4j
+public class AdminAccessInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (isLoopback(request.getRemoteAddr())) {
+            return true;
+        }
+        log.warn("rejected admin request from {}: {} {}", request.getRemoteAddr(), request.getMethod(), request.getRequestURI());
+        response.sendError(HttpServletResponse.SC_FORBIDDEN);
+        return false;
+    }
+
+    private static boolean isLoopback(String remoteAddr) {
+        try {
+            // remoteAddr는 IP 문자열이라 DNS 조회 없이 파싱만 함
+            return InetAddress.getByName(remoteAddr).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package study.querydsl.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+//* 아래 풀의 스레드는 각자 커넥션을 하나씩 잡고 쿼리/트랜잭션을 돌리므로 커넥션 풀 하나를 나눠 쓰는 예산으로 잡는다
+//  lookup + job + query 스레드 수 + reserved-connections(요청 스레드의 v3/관리 API, write-behind 등) <= hikari maximum-pool-size
+//! 합이 커넥션 풀보다 크면 범위 작업이나 대량 조회 중에 검색이 몰릴 때 모든 풀이 커넥션을 기다리며 멈출 수 있으므로 기동 시 실패시킴
+@Configuration
+public class ExecutorConfig {
+
+    private final int lookupThreads;
+    private final int jobThreads;
+    private final int queryThreads;
+
+    public ExecutorConfig(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                          @Value("${member.executor.reserved-connections:6}") int reservedConnections,
+                          @Value("${member.executor.lookup-threads:4}") int lookupThreads,
+                          @Value("${member.executor.job-threads:6}") int jobThreads,
+                          @Value("${member.executor.query-threads:8}") int queryThreads) {
+        int budget = lookupThreads + jobThreads + queryThreads + reservedConnections;
+        if (budget > connectionPoolSize) {
+            throw new IllegalStateException("executor threads (" + lookupThreads + " + " + jobThreads + " + " + queryThreads
+                    + ") + reserved connections (" + reservedConnections + ") = " + budget
+                    + " exceed spring.datasource.hikari.maximum-pool-size (" + connectionPoolSize + ")");
+        }
+        this.lookupThreads = lookupThreads;
+        this.jobThreads = jobThreads;
+        this.queryThreads = queryThreads;
+    }
+
+    //* id 대량 조회(MemberLookupService) 청크 병렬 실행
+    @Bean
+    public ThreadPoolTaskExecutor memberLookupExecutor() {
+        return executor(lookupThreads, 256, "member-lookup-");
+    }
+
+    //* 범위 작업(MemberRangeJobRunner) 워커. 워커마다 커넥션을 하나씩 잡고 트랜잭션을 돌림
+    @Bean
+    public ThreadPoolTaskExecutor memberJobExecutor() {
+        return executor(jobThreads, 64, "member-job-");
+    }
+
+    //* /v1, /v2 검색 실행 (MemberQueryGuard). 요청 스레드 대신 여기서 쿼리를 돌려야 연결 끊김/시간 초과 때 취소할 수 있다
+    @Bean
+    public ThreadPoolTaskExecutor memberQueryExecutor() {
+        return executor(queryThreads, 256, "member-query-");
+    }
+
+    private static ThreadPoolTaskExecutor executor(int threads, int queueCapacity, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
+}
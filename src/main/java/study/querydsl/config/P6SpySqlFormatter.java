@@ -6,10 +6,12 @@ import com.p6spy.engine.spy.appender.MessageFormattingStrategy;
 import jakarta.annotation.PostConstruct;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import java.util.Locale;
 
 @Configuration
+@Lazy(false) //* 로그 포맷은 첫 쿼리 전에 등록되어야 함
 public class P6SpySqlFormatter implements MessageFormattingStrategy {
     @PostConstruct
     public void setLogMessageFormat() {
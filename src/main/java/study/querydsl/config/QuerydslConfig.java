@@ -1,10 +1,12 @@
 package study.querydsl.config;
 
-import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import study.querydsl.support.InstrumentedJPAQueryFactory;
+import study.querydsl.support.QueryMetrics;
 
 @Configuration
 public class QuerydslConfig {
@@ -13,7 +15,14 @@ public class QuerydslConfig {
     private EntityManager em;
 
     @Bean
-    public JPAQueryFactory jpaQueryFactory() {
-        return new JPAQueryFactory(em);
+    public QueryMetrics queryMetrics(MeterRegistry meterRegistry) {
+        return new QueryMetrics(meterRegistry);
+    }
+
+    //* 쿼리별 시간/row 수/에러를 Micrometer로 기록 (/actuator/prometheus)
+    //? JPAQueryFactory로도 주입되고, 메서드 태그를 붙일 쪽은 InstrumentedJPAQueryFactory로 받아서 named(...) 사용
+    @Bean
+    public InstrumentedJPAQueryFactory jpaQueryFactory(QueryMetrics queryMetrics) {
+        return new InstrumentedJPAQueryFactory(em, queryMetrics);
     }
 }
@@ -0,0 +1,124 @@
+package study.querydsl.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+//* Member의 INSERT/DELETE/team 변경을 감지해서 Team.memberCount를 같은 트랜잭션 안에서 갱신
+//? 세션(트랜잭션)마다 팀별 증감을 모아두었다가 커밋 직전에 팀당 UPDATE 한 번으로 반영 (member_count = member_count + ?)
+//! JPQL/Querydsl bulk 연산은 이벤트가 발생하지 않으므로 회원 bulk 삽입/삭제/팀 변경은 MemberBulkRepository를 거칠 것
+//  (그 밖의 경로로 어긋난 값은 TeamMemberCountService.rebuild로 다시 맞춤)
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+public class TeamMemberCountListener implements PostInsertEventListener, PostDeleteEventListener, PostUpdateEventListener {
+
+    private static final String UPDATE_SQL = "update team set member_count = member_count + ? where team_id = ?";
+
+    private final EntityManagerFactory emf;
+    private final Map<SharedSessionContractImplementor, Map<Long, Long>> pendingDeltas = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            addDelta(event.getSession(), teamId(member.getTeam()), 1);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            addDelta(event.getSession(), teamId(member.getTeam()), -1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member) || event.getOldState() == null) {
+            return;
+        }
+        int teamIndex = event.getPersister().getEntityMetamodel().getPropertyIndex("team");
+        Long oldTeamId = teamId((Team) event.getOldState()[teamIndex]);
+        Long newTeamId = teamId((Team) event.getState()[teamIndex]);
+        if (!Objects.equals(oldTeamId, newTeamId)) {
+            addDelta(event.getSession(), oldTeamId, -1);
+            addDelta(event.getSession(), newTeamId, 1);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private Long teamId(Team team) {
+        // 프록시여도 getId()는 초기화하지 않음
+        return team != null ? team.getId() : null;
+    }
+
+    private void addDelta(EventSource session, Long teamId, long delta) {
+        if (teamId == null) {
+            return;
+        }
+        pendingDeltas.computeIfAbsent(session, s -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::flushDeltas);
+            // 롤백되면 before 콜백이 불리지 않으므로 after 콜백에서 정리
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, sess) -> pendingDeltas.remove(sess));
+            return new HashMap<>();
+        }).merge(teamId, delta, Long::sum);
+    }
+
+    private void flushDeltas(SharedSessionContractImplementor session) {
+        Map<Long, Long> deltas = pendingDeltas.remove(session);
+        if (deltas == null) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+                for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                    if (entry.getValue() == 0) {
+                        continue;
+                    }
+                    statement.setLong(1, entry.getValue());
+                    statement.setLong(2, entry.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package study.querydsl.config;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.support.ClientConnection;
+
+@Configuration
+public class TomcatConfig {
+
+    //* 검색 중 클라이언트 연결 끊김 감지용 (MemberQueryGuard -> ClientConnection.isClosed)
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> clientConnectionValve() {
+        return factory -> factory.addEngineValves(new ClientConnection.Valve());
+    }
+}
@@ -0,0 +1,102 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.diagnostics.QueryPlanCollector;
+import study.querydsl.dto.BulkUpdateResult;
+import study.querydsl.dto.MemberRangeJobProgress;
+import study.querydsl.dto.QueryPlanView;
+import study.querydsl.dto.SearchCoalescingStats;
+import study.querydsl.dto.TeamMemberCountMismatch;
+import study.querydsl.job.MemberRangeJob;
+import study.querydsl.job.MemberRangeJobConflictException;
+import study.querydsl.job.MemberRangeJobOptions;
+import study.querydsl.job.MemberRangeJobRunner;
+import study.querydsl.service.MemberBulkUpdateService;
+import study.querydsl.service.MemberSearchCoalescer;
+import study.querydsl.service.TeamMemberCountService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//! 로컬(loopback) 접속만 허용 (AdminAccessInterceptor)
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final MemberBulkUpdateService memberBulkUpdateService;
+    private final TeamMemberCountService teamMemberCountService;
+    private final QueryPlanCollector queryPlanCollector;
+    private final MemberRangeJobRunner memberRangeJobRunner;
+    private final MemberSearchCoalescer memberSearchCoalescer;
+
+    //* afterMemberId: 이전 실행이 중간에 실패했을 때 응답/로그의 lastMemberId를 넘겨서 이어서 실행
+    @PostMapping("/teams/{teamId}/members/age/increment")
+    public BulkUpdateResult incrementMemberAge(@PathVariable Long teamId,
+                                               @RequestParam(defaultValue = "1") int delta,
+                                               @RequestParam(defaultValue = "" + MemberBulkUpdateService.DEFAULT_CHUNK_SIZE) int chunkSize,
+                                               @RequestParam(required = false) Long afterMemberId) {
+        return memberBulkUpdateService.incrementAgeByTeam(teamId, delta, chunkSize, afterMemberId, null);
+    }
+
+    //* 전체 회원 나이 +1 (야간 작업). 바로 작업 id를 돌려주고 진행 상황은 GET /admin/jobs/{jobId}로 확인
+    //! businessDate(기본 오늘)마다 한 번만 실행, 실행 중이거나 이미 실행한 날짜면 409 (실패한 범위는 /jobs/{jobId}/retry)
+    @PostMapping("/jobs/age-rollover")
+    public MemberRangeJobProgress ageRollover(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate businessDate,
+                                              @RequestParam(defaultValue = "4") int workers,
+                                              @RequestParam(defaultValue = "" + MemberRangeJobOptions.DEFAULT_RANGE_SIZE) long rangeSize) {
+        LocalDate date = businessDate != null ? businessDate : LocalDate.now();
+        MemberRangeJobOptions options = new MemberRangeJobOptions(workers, rangeSize, MemberRangeJobOptions.DEFAULT_CHUNK_SIZE,
+                MemberRangeJobOptions.DEFAULT_MAX_ATTEMPTS, null, null);
+        return memberRangeJobRunner.submit("age-rollover", "age-rollover:" + date, options,
+                member -> member.setAge(member.getAge() + 1)).progress();
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<MemberRangeJobProgress> jobProgress(@PathVariable long jobId) {
+        return ResponseEntity.of(memberRangeJobRunner.findJob(jobId).map(MemberRangeJob::progress));
+    }
+
+    @PostMapping("/jobs/{jobId}/retry")
+    public ResponseEntity<MemberRangeJobProgress> retryFailedRanges(@PathVariable long jobId) {
+        return ResponseEntity.of(memberRangeJobRunner.retryFailed(jobId).map(MemberRangeJob::progress));
+    }
+
+    @GetMapping("/teams/member-count/mismatches")
+    public List<TeamMemberCountMismatch> findMemberCountMismatches() {
+        return teamMemberCountService.findMismatches();
+    }
+
+    @PostMapping("/teams/member-count/rebuild")
+    public int rebuildMemberCount() {
+        return teamMemberCountService.rebuildAll();
+    }
+
+    //* /v1, /v2(/v3) 검색에서 합류로 아낀 실행 수
+    @GetMapping("/search-coalescing")
+    public List<SearchCoalescingStats> searchCoalescing() {
+        return List.of(SearchCoalescingStats.of("search", memberSearchCoalescer.searchStats()),
+                SearchCoalescingStats.of("searchPage", memberSearchCoalescer.pageStats()));
+    }
+
+    //! 실행 계획에는 실제 파라미터 값이 들어있음 (/admin/** 는 AdminAccessInterceptor가 로컬 접속만 허용)
+    @GetMapping("/query-plans")
+    public List<QueryPlanView> queryPlans() {
+        return queryPlanCollector.getPlans();
+    }
+
+    @ExceptionHandler(MemberRangeJobConflictException.class)
+    public ResponseEntity<String> handleJobConflict(MemberRangeJobConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+}
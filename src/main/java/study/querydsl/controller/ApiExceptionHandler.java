@@ -0,0 +1,46 @@
+package study.querydsl.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import study.querydsl.repository.InvalidSortPropertyException;
+import study.querydsl.service.InvalidMemberRequestException;
+import study.querydsl.service.MemberNotFoundException;
+import study.querydsl.support.InvalidOptionException;
+
+import java.util.concurrent.RejectedExecutionException;
+
+//* 여러 컨트롤러에 공통인 요청 오류 응답
+//! 메시지를 그대로 돌려주는 예외는 우리가 직접 만든 메시지만 담은 타입으로 한정 (IllegalArgumentException 전체를 잡으면 라이브러리 내부 메시지가 노출됨)
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    //* 허용되지 않은 정렬 프로퍼티
+    @ExceptionHandler(InvalidSortPropertyException.class)
+    public ResponseEntity<String> handleInvalidSortProperty(InvalidSortPropertyException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    //* chunkSize, workers 등 범위를 벗어난 작업 옵션
+    @ExceptionHandler(InvalidOptionException.class)
+    public ResponseEntity<String> handleInvalidOption(InvalidOptionException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidMemberRequestException.class)
+    public ResponseEntity<String> handleInvalidMemberRequest(InvalidMemberRequestException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(MemberNotFoundException.class)
+    public ResponseEntity<String> handleMemberNotFound(MemberNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    //* 쓰기 큐 / 작업 스레드 풀이 가득 참
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+}
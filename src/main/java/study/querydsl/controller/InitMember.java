@@ -4,23 +4,28 @@ import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.support.DatabaseSnapshots;
 
 @Profile("local")
 @Component
+@Lazy(false) //* lazy-initialization 모드에서도 기동 시 데이터 초기화
 @RequiredArgsConstructor
 public class InitMember {
 
     private final InitMemberService initMemberService;
+    private final DatabaseSnapshots databaseSnapshots;
 
     @PostConstruct
     //! 스프링 라이프싸이클 상에서 @Transactional과 같이 쓰일 수 없어서 분리를 해줘야함
+    //* member.snapshot.enabled 이면 두 번째 기동부터는 시드 대신 스냅샷 복원
     public void init() {
-        initMemberService.init();
+        databaseSnapshots.restoreOrCapture("init-member", InitMemberService.class, initMemberService::init);
     }
 
     @Component
@@ -1,31 +1,170 @@
 package study.querydsl.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.querydsl.config.BinaryCodecConfig;
+import study.querydsl.dto.MemberCreateRequest;
+import study.querydsl.dto.MemberPage;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchResult;
 import study.querydsl.dto.MemberTeamDto;
-import study.querydsl.repository.MemberJpaRepository;
-import study.querydsl.repository.MemberRepository;
+import study.querydsl.service.MemberLookupService;
+import study.querydsl.service.MemberPageService;
+import study.querydsl.service.MemberQueryGuard;
+import study.querydsl.service.MemberSearchCoalescer;
+import study.querydsl.service.MemberWriteBehindService;
+import study.querydsl.service.MembershipService;
+import study.querydsl.service.SearchCostExceededException;
+import study.querydsl.support.QueryDeadline;
 
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
-    private final MemberJpaRepository memberJpaRepository;
-    private final MemberRepository memberRepository;
+    private final MemberLookupService memberLookupService;
+    private final MemberWriteBehindService memberWriteBehindService;
+    private final MembershipService membershipService;
+    private final MemberSearchCoalescer memberSearchCoalescer;
+    private final MemberQueryGuard memberQueryGuard;
+    private final MemberPageService memberPageService;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+    private final MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
 
+    //* 예상 비용이 예산을 넘으면 잘린 결과를 주고 헤더로 이유를 알려줌 (또는 reject 정책이면 422)
+    //? v1/v2 검색은 같은 조건으로 동시에 들어온 요청끼리 한 번만 실행 (MemberSearchCoalescer)
+    //? v1/v2는 member.query-timeout 안에 끝나지 않거나 클라이언트가 끊으면 실행 중인 쿼리를 취소 (MemberQueryGuard)
     @GetMapping("/v1/members")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-        return memberJpaRepository.search(condition);
+    public DeferredResult<ResponseEntity<List<MemberTeamDto>>> searchMemberV1(MemberSearchCondition condition) {
+        return memberQueryGuard.submit("v1", () -> toV1Response(memberSearchCoalescer.search(condition)));
+    }
+
+    private static ResponseEntity<List<MemberTeamDto>> toV1Response(MemberSearchResult result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("X-Query-Cost-Estimated-Rows", String.valueOf(result.getEstimatedCost().getResultRows()));
+        if (result.isCapped()) {
+            response.header("X-Result-Capped", "true")
+                    .header("Warning", "199 - \"result capped at " + result.getContents().size()
+                            + " rows; add filters or use /v2/members for paging\"");
+        }
+        return response.body(result.getContents());
     }
 
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageSimple(condition, pageable);
+    public DeferredResult<Page<MemberTeamDto>> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+        return memberQueryGuard.submit("v2", () -> memberSearchCoalescer.searchPageSimple(condition, pageable));
+    }
+
+    //* 서비스 간 호출용: Accept로 JSON/Smile/CBOR를 고르고, PageImpl 대신 MemberPage 모양으로 응답
+    //? 페이지가 STREAMING_THRESHOLD 건을 넘으면 청크 단위로 읽고 쓰며, 쓰는 동안에는 커넥션을 잡지 않음
+    @GetMapping(value = "/v3/members", produces = {MediaType.APPLICATION_JSON_VALUE,
+            BinaryCodecConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<StreamingResponseBody> searchMemberV3(MemberSearchCondition condition, Pageable pageable,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType mediaType = negotiate(accept);
+        ObjectMapper mapper = mediaType.equals(BinaryCodecConfig.APPLICATION_SMILE) ? smileHttpMessageConverter.getObjectMapper()
+                : mediaType.equals(MediaType.APPLICATION_CBOR) ? cborHttpMessageConverter.getObjectMapper()
+                : objectMapper;
+
+        QueryDeadline deadline = memberQueryGuard.deadline("v3");
+        StreamingResponseBody body;
+        if (memberPageService.isStreamed(pageable)) {
+            //? 스트리밍 중 클라이언트가 끊으면 쓰기가 실패해서 남은 청크는 읽지 않음
+            body = out -> {
+                try {
+                    deadline.run(() -> memberPageService.streamPage(condition, pageable, mapper, out));
+                } catch (UncheckedIOException e) {
+                    memberQueryGuard.aborted("v3", "disconnected");
+                    throw e;
+                }
+            };
+        } else {
+            //! 작은 페이지는 요청 스레드에서 조회를 끝내고 쓰기만 넘김 (예외가 나면 일반 응답처럼 처리됨)
+            MemberPage page = deadline.call(() -> memberPageService.page(condition, pageable));
+            body = out -> mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, page);
+        }
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    //* Accept의 q 값 순서대로 지원하는 타입을 고름 (없거나 */* 이거나 파싱할 수 없으면 JSON)
+    private static MediaType negotiate(String accept) {
+        List<MediaType> accepted = new ArrayList<>(parseAccept(accept));
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            for (MediaType supported : List.of(MediaType.APPLICATION_JSON, BinaryCodecConfig.APPLICATION_SMILE, MediaType.APPLICATION_CBOR)) {
+                if (type.includes(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private static List<MediaType> parseAccept(String accept) {
+        if (accept == null) {
+            return List.of(MediaType.ALL);
+        }
+        try {
+            return MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return List.of(MediaType.ALL);
+        }
+    }
+
+    //* id 목록이 수천~수만 개일 수 있어서 쿼리 파라미터 대신 body로 받는다
+    @PostMapping("/v1/members/lookup")
+    public List<MemberTeamDto> lookupMembers(@RequestBody List<Long> memberIds) {
+        return memberLookupService.findByIds(memberIds);
+    }
+
+    //* 요청 스레드를 붙잡지 않고, 배치가 커밋된 뒤에 생성된 id로 응답
+    @PostMapping("/v1/members")
+    public CompletableFuture<Long> createMember(@RequestBody MemberCreateRequest request) {
+        return memberWriteBehindService.submit(request);
+    }
+
+    @PutMapping("/v1/members/{memberId}/team/{teamId}")
+    public void changeTeam(@PathVariable Long memberId, @PathVariable Long teamId) {
+        membershipService.moveTeam(memberId, teamId);
+    }
+
+    //* member.query-timeout 안에 끝나지 않은 검색
+    //! 리포지토리 밖(MemberSearchCostEstimator 통계 갱신, QueryDeadline 실행 전 확인)에서 난 timeout은 스프링 예외로 번역되지 않으므로 같이 처리
+    @ExceptionHandler({QueryTimeoutException.class, jakarta.persistence.QueryTimeoutException.class,
+            org.hibernate.QueryTimeoutException.class})
+    public ResponseEntity<String> handleQueryTimeout(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    @ExceptionHandler(SearchCostExceededException.class)
+    public ResponseEntity<String> handleSearchCostExceeded(SearchCostExceededException e) {
+        return ResponseEntity.unprocessableEntity().body(e.getMessage());
     }
 }
@@ -0,0 +1,23 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.TeamDto;
+import study.querydsl.dto.TeamSearchCondition;
+import study.querydsl.repository.TeamQueryRepository;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamQueryRepository teamQueryRepository;
+
+    //* ex) /v1/teams?memberCountGoe=10&sort=memberCount,desc
+    @GetMapping("/v1/teams")
+    public Page<TeamDto> searchTeams(TeamSearchCondition condition, Pageable pageable) {
+        return teamQueryRepository.search(condition, pageable);
+    }
+}
@@ -0,0 +1,180 @@
+package study.querydsl.diagnostics;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.QueryPlanView;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//* p6spy로 실행되는 SQL을 쿼리 모양(파라미터 자리 ?가 남은 SQL)별로 모아서 실행 횟수/시간을 세고,
+//* 처음 보는 모양이면 같은 DataSource로 EXPLAIN (허용 시 EXPLAIN ANALYZE)을 백그라운드에서 한 번 실행해 저장
+//? p6spy-spring-boot-starter가 JdbcEventListener 빈을 자동으로 등록해줌
+@Slf4j
+@Component
+public class QueryPlanCollector extends JdbcEventListener {
+
+    private static final int MAX_SHAPES = 1000;
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TABLE_SCAN = Pattern.compile("([\\w.]+)\\.tableScan");
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final boolean enabled;
+    private final boolean analyze;
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    //! EXPLAIN은 요청 스레드를 막지 않도록 별도 스레드 하나에서 순서대로 실행
+    private final ExecutorService explainExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "query-plan-explain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //! DataSource가 이 리스너를 주입받아 만들어지므로 순환 참조를 피하려고 ObjectProvider로 늦게 가져온다
+    public QueryPlanCollector(ObjectProvider<DataSource> dataSource,
+                              @Value("${member.diagnostics.explain.enabled:false}") boolean enabled,
+                              @Value("${member.diagnostics.explain.analyze:false}") boolean analyze) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.analyze = analyze;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    @Override
+    public void onAfterExecuteQuery(PreparedStatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        record(statementInformation, timeElapsedNanos);
+    }
+
+    @Override
+    public void onAfterExecuteUpdate(PreparedStatementInformation statementInformation, long timeElapsedNanos, int rowCount, SQLException e) {
+        record(statementInformation, timeElapsedNanos);
+    }
+
+    @Override
+    public void onAfterExecuteQuery(StatementInformation statementInformation, long timeElapsedNanos, String sql, SQLException e) {
+        record(statementInformation, timeElapsedNanos);
+    }
+
+    //* JDBC batch(INSERT/UPDATE 묶음)는 executeBatch 한 번으로 끝나므로 여기서 묶인 건수만큼 실행 횟수를 셈
+    @Override
+    public void onAfterExecuteBatch(StatementInformation statementInformation, long timeElapsedNanos, int[] updateCounts, SQLException e) {
+        record(statementInformation, timeElapsedNanos, updateCounts == null ? 1 : Math.max(updateCounts.length, 1));
+    }
+
+    public List<QueryPlanView> getPlans() {
+        return shapes.entrySet().stream()
+                .map(entry -> entry.getValue().toView(entry.getKey()))
+                .sorted(Comparator.comparingDouble(QueryPlanView::getTotalMillis).reversed())
+                .toList();
+    }
+
+    private void record(StatementInformation statementInformation, long timeElapsedNanos) {
+        record(statementInformation, timeElapsedNanos, 1);
+    }
+
+    private void record(StatementInformation statementInformation, long timeElapsedNanos, int executions) {
+        if (!enabled || statementInformation.getSql() == null) {
+            return;
+        }
+        String sql = normalize(statementInformation.getSql());
+        String lower = sql.toLowerCase(Locale.ROOT);
+        // 자기 자신이 실행한 EXPLAIN과 DDL은 제외
+        if (lower.startsWith("explain") || !(lower.startsWith("select") || lower.startsWith("update")
+                || lower.startsWith("delete") || lower.startsWith("insert") || lower.startsWith("with"))) {
+            return;
+        }
+
+        Shape shape = shapes.get(sql);
+        if (shape == null) {
+            if (shapes.size() >= MAX_SHAPES) {
+                return;
+            }
+            shape = shapes.computeIfAbsent(sql, key -> new Shape());
+        }
+        shape.executions.add(executions);
+        shape.totalNanos.add(timeElapsedNanos);
+
+        if (shape.explainRequested.compareAndSet(false, true)) {
+            //* 처음 실행됐을 때의 실제 파라미터 값이 들어간 SQL로 EXPLAIN
+            String sqlWithValues = normalize(statementInformation.getSqlWithValues());
+            Shape target = shape;
+            explainExecutor.execute(() -> explain(sqlWithValues, target));
+        }
+    }
+
+    private void explain(String sql, Shape shape) {
+        try (Connection connection = dataSource.getObject().getConnection()) {
+            shape.plan = runExplain(connection, "EXPLAIN " + sql);
+            //! ANALYZE는 쿼리를 실제로 실행하므로 SELECT에만 적용
+            if (analyze && sql.toLowerCase(Locale.ROOT).startsWith("select")) {
+                shape.analyzedPlan = runExplain(connection, "EXPLAIN ANALYZE " + sql);
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("EXPLAIN failed. sql={}", sql, e);
+            shape.error = e.getMessage();
+        }
+    }
+
+    private String runExplain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString().trim();
+        }
+    }
+
+    private String normalize(String sql) {
+        return WHITESPACE.matcher(COMMENT.matcher(sql).replaceAll(" ")).replaceAll(" ").trim();
+    }
+
+    private static class Shape {
+        final LongAdder executions = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicBoolean explainRequested = new AtomicBoolean();
+        volatile String plan;
+        volatile String analyzedPlan;
+        volatile String error;
+
+        QueryPlanView toView(String sql) {
+            List<String> tableScans = new ArrayList<>();
+            if (plan != null) {
+                Matcher matcher = TABLE_SCAN.matcher(plan);
+                while (matcher.find()) {
+                    tableScans.add(matcher.group(1));
+                }
+            }
+            boolean missingIndex = !tableScans.isEmpty() && sql.toLowerCase(Locale.ROOT).contains(" where ");
+            return new QueryPlanView(sql, executions.sum(), totalNanos.sum() / 1_000_000.0,
+                    plan, analyzedPlan, tableScans, missingIndex, error);
+        }
+    }
+}
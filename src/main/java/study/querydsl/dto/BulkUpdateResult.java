@@ -0,0 +1,16 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BulkUpdateResult {
+
+    private long totalUpdated;
+    private int chunks;
+    //* 중간에 실패하면 이 id 이후부터 다시 돌리면 된다
+    private Long lastMemberId;
+}
@@ -0,0 +1,23 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+//* PageImpl JSON(pageable/sort/first/last/empty ... 중복 필드)보다 작은 페이지 응답
+//? 스트리밍 응답(MemberPageService.streamPage)도 같은 필드 이름/모양으로 쓴다
+@Getter
+@AllArgsConstructor
+public class MemberPage {
+
+    private List<MemberTeamDto> content;
+    private int page;
+    private int size;
+    private long totalElements;
+
+    public static MemberPage of(Page<MemberTeamDto> page) {
+        return new MemberPage(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements());
+    }
+}
@@ -0,0 +1,26 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class MemberRangeJobProgress {
+
+    private long jobId;
+    private String name;
+    private String status;
+    private int workers;
+    private int totalRanges;
+    private int completedRanges;
+    private int retriedRanges;
+    private long processedMembers;
+    private long elapsedMillis;
+    private double membersPerSecond;
+    //* 재시도까지 모두 실패한 범위, POST /admin/jobs/{jobId}/retry 로 이 범위만 다시 돌릴 수 있다
+    private List<String> failedRanges;
+}
@@ -0,0 +1,16 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MemberSearchResult {
+
+    private List<MemberTeamDto> contents;
+    private QueryCost estimatedCost;
+    //* true면 contents는 maxResultRows 건까지만 잘린 결과
+    private boolean capped;
+}
@@ -0,0 +1,289 @@
+package study.querydsl.dto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+//* 대량 MemberTeamDto 결과를 row 객체 없이 컬럼 배열로 보관
+//  - memberId/age: long[]/int[] (박싱 없음)
+//  - team: 팀마다 한 번만 저장하는 사전(teamIds/teamNames) + row별 사전 번호 int[] (-1 = 팀 없음)
+//  - username: UTF-8 바이트를 한 배열(arena)에 이어 붙이고 row별 끝 위치만 저장
+//? row 하나가 대략 8 + 4 + 4 + 4 + username 바이트 -> List<MemberTeamDto>(객체 헤더 + Long 박싱 + String 2개)의 몇 분의 1
+public class MemberTeamColumns implements Iterable<MemberTeamColumns.RowView> {
+
+    private static final int FORMAT_MAGIC = 0x4D544331; // "MTC1"
+
+    private final int size;
+    private final long[] memberIds;
+    private final int[] ages;
+    private final int[] teamRefs;
+    private final long[] teamIds;
+    private final String[] teamNames;
+    private final byte[] usernameArena;
+    private final int[] usernameEnds;
+    private final BitSet nullUsernames;
+
+    private MemberTeamColumns(int size, long[] memberIds, int[] ages, int[] teamRefs, long[] teamIds, String[] teamNames,
+                              byte[] usernameArena, int[] usernameEnds, BitSet nullUsernames) {
+        this.size = size;
+        this.memberIds = memberIds;
+        this.ages = ages;
+        this.teamRefs = teamRefs;
+        this.teamIds = teamIds;
+        this.teamNames = teamNames;
+        this.usernameArena = usernameArena;
+        this.usernameEnds = usernameEnds;
+        this.nullUsernames = nullUsernames;
+    }
+
+    public static Builder builder() {
+        return new Builder(1024);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int teamCount() {
+        return teamIds.length;
+    }
+
+    public long getMemberId(int row) {
+        return memberIds[checkRow(row)];
+    }
+
+    public int getAge(int row) {
+        return ages[checkRow(row)];
+    }
+
+    //* 필요할 때만 String으로 디코딩 (집계만 하면 만들어지지 않음)
+    public String getUsername(int row) {
+        checkRow(row);
+        if (nullUsernames.get(row)) {
+            return null;
+        }
+        int start = row == 0 ? 0 : usernameEnds[row - 1];
+        return new String(usernameArena, start, usernameEnds[row] - start, StandardCharsets.UTF_8);
+    }
+
+    public Long getTeamId(int row) {
+        int ref = teamRefs[checkRow(row)];
+        return ref < 0 ? null : teamIds[ref];
+    }
+
+    public String getTeamName(int row) {
+        int ref = teamRefs[checkRow(row)];
+        return ref < 0 ? null : teamNames[ref];
+    }
+
+    public MemberTeamDto toDto(int row) {
+        return new MemberTeamDto(getMemberId(row), getUsername(row), getAge(row), getTeamId(row), getTeamName(row));
+    }
+
+    //! 반환되는 RowView는 하나를 재사용하는 커서이므로 다음 row로 넘어간 뒤에는 값을 보관하지 말 것 (필요하면 toDto())
+    @Override
+    public Iterator<RowView> iterator() {
+        RowView view = new RowView();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return view.row + 1 < size;
+            }
+
+            @Override
+            public RowView next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                view.row++;
+                return view;
+            }
+        };
+    }
+
+    //* 포맷: magic, row 수, 팀 사전, 컬럼 배열 순서대로 (DataOutput 빅엔디언)
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(size);
+        out.writeInt(teamIds.length);
+        for (int i = 0; i < teamIds.length; i++) {
+            out.writeLong(teamIds[i]);
+            writeNullableString(out, teamNames[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeLong(memberIds[i]);
+            out.writeInt(ages[i]);
+            out.writeInt(teamRefs[i]);
+            out.writeInt(usernameEnds[i]);
+        }
+        byte[] nulls = nullUsernames.toByteArray();
+        out.writeInt(nulls.length);
+        out.write(nulls);
+        int arenaLength = size == 0 ? 0 : usernameEnds[size - 1];
+        out.writeInt(arenaLength);
+        out.write(usernameArena, 0, arenaLength);
+    }
+
+    public static MemberTeamColumns readFrom(DataInput in) throws IOException {
+        if (in.readInt() != FORMAT_MAGIC) {
+            throw new IOException("MemberTeamColumns 형식이 아닙니다.");
+        }
+        int size = in.readInt();
+        int teamCount = in.readInt();
+        long[] teamIds = new long[teamCount];
+        String[] teamNames = new String[teamCount];
+        for (int i = 0; i < teamCount; i++) {
+            teamIds[i] = in.readLong();
+            teamNames[i] = readNullableString(in);
+        }
+        long[] memberIds = new long[size];
+        int[] ages = new int[size];
+        int[] teamRefs = new int[size];
+        int[] usernameEnds = new int[size];
+        for (int i = 0; i < size; i++) {
+            memberIds[i] = in.readLong();
+            ages[i] = in.readInt();
+            teamRefs[i] = in.readInt();
+            usernameEnds[i] = in.readInt();
+        }
+        byte[] nulls = new byte[in.readInt()];
+        in.readFully(nulls);
+        byte[] arena = new byte[in.readInt()];
+        in.readFully(arena);
+        return new MemberTeamColumns(size, memberIds, ages, teamRefs, teamIds, teamNames, arena, usernameEnds, BitSet.valueOf(nulls));
+    }
+
+    private static void writeNullableString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row=" + row + ", size=" + size);
+        }
+        return row;
+    }
+
+    public class RowView {
+
+        private int row = -1;
+
+        public int getRow() {
+            return row;
+        }
+
+        public long getMemberId() {
+            return memberIds[row];
+        }
+
+        public int getAge() {
+            return ages[row];
+        }
+
+        public String getUsername() {
+            return MemberTeamColumns.this.getUsername(row);
+        }
+
+        public Long getTeamId() {
+            return MemberTeamColumns.this.getTeamId(row);
+        }
+
+        public String getTeamName() {
+            return MemberTeamColumns.this.getTeamName(row);
+        }
+
+        public MemberTeamDto toDto() {
+            return MemberTeamColumns.this.toDto(row);
+        }
+    }
+
+    //* 쿼리 결과를 한 row씩 받아 배열을 두 배씩 늘려가며 채움
+    public static class Builder {
+
+        private int size;
+        private long[] memberIds;
+        private int[] ages;
+        private int[] teamRefs;
+        private int[] usernameEnds;
+        private byte[] usernameArena;
+        private int arenaLength;
+        private final BitSet nullUsernames = new BitSet();
+        private final Map<Long, Integer> teamIndex = new HashMap<>();
+        private long[] teamIds = new long[8];
+        private String[] teamNames = new String[8];
+
+        private Builder(int capacity) {
+            memberIds = new long[capacity];
+            ages = new int[capacity];
+            teamRefs = new int[capacity];
+            usernameEnds = new int[capacity];
+            usernameArena = new byte[capacity * 8];
+        }
+
+        public Builder add(long memberId, String username, int age, Long teamId, String teamName) {
+            if (size == memberIds.length) {
+                int capacity = size * 2;
+                memberIds = Arrays.copyOf(memberIds, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                teamRefs = Arrays.copyOf(teamRefs, capacity);
+                usernameEnds = Arrays.copyOf(usernameEnds, capacity);
+            }
+            memberIds[size] = memberId;
+            ages[size] = age;
+            teamRefs[size] = teamId == null ? -1 : teamIndex.computeIfAbsent(teamId, id -> addTeam(id, teamName));
+
+            if (username == null) {
+                nullUsernames.set(size);
+            } else {
+                byte[] bytes = username.getBytes(StandardCharsets.UTF_8);
+                if (arenaLength + bytes.length > usernameArena.length) {
+                    usernameArena = Arrays.copyOf(usernameArena, Math.max(usernameArena.length * 2, arenaLength + bytes.length));
+                }
+                System.arraycopy(bytes, 0, usernameArena, arenaLength, bytes.length);
+                arenaLength += bytes.length;
+            }
+            usernameEnds[size] = arenaLength;
+            size++;
+            return this;
+        }
+
+        private int addTeam(Long teamId, String teamName) {
+            int ref = teamIndex.size();
+            if (ref == teamIds.length) {
+                teamIds = Arrays.copyOf(teamIds, ref * 2);
+                teamNames = Arrays.copyOf(teamNames, ref * 2);
+            }
+            teamIds[ref] = teamId;
+            teamNames[ref] = teamName;
+            return ref;
+        }
+
+        //* 남는 용량은 잘라내서 보관 (빌더는 더 이상 쓰지 말 것)
+        public MemberTeamColumns build() {
+            int teams = teamIndex.size();
+            return new MemberTeamColumns(size,
+                    Arrays.copyOf(memberIds, size),
+                    Arrays.copyOf(ages, size),
+                    Arrays.copyOf(teamRefs, size),
+                    Arrays.copyOf(teamIds, teams),
+                    Arrays.copyOf(teamNames, teams),
+                    Arrays.copyOf(usernameArena, arenaLength),
+                    Arrays.copyOf(usernameEnds, size),
+                    nullUsernames);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class QueryCost {
+
+    //* 어떤 인덱스(또는 풀 스캔)로 읽을지
+    private String access;
+    private long scannedRows;
+    private long resultRows;
+}
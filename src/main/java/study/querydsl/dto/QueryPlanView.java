@@ -0,0 +1,21 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class QueryPlanView {
+
+    private String sql;
+    private long executions;
+    private double totalMillis;
+    private String plan;
+    private String analyzedPlan;
+    //* 풀 스캔한 테이블 목록, where 절이 있는데 풀 스캔이면 missingIndex = true
+    private List<String> tableScans;
+    private boolean missingIndex;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ScanResult {
+
+    private long scanned;
+    //* 다음 스캔은 이 id 이후부터 이어서 하면 된다
+    private Long lastMemberId;
+}
@@ -0,0 +1,24 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import study.querydsl.support.SingleFlight;
+
+@Getter
+@AllArgsConstructor
+public class SearchCoalescingStats {
+
+    private String name;
+    private long executed;
+    //* 다른 요청의 실행 결과를 받아서 DB 호출을 하지 않은 요청 수
+    private long joined;
+    private long timedOut;
+    private int inFlight;
+    private double savedRatio;
+
+    public static SearchCoalescingStats of(String name, SingleFlight.Stats stats) {
+        long total = stats.executed() + stats.joined();
+        return new SearchCoalescingStats(name, stats.executed(), stats.joined(), stats.timedOut(), stats.inFlight(),
+                total > 0 ? (double) stats.joined() / total : 0);
+    }
+}
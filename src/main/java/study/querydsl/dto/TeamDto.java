@@ -0,0 +1,19 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+@Data
+public class TeamDto {
+
+    private Long teamId;
+    private String name;
+    private long memberCount;
+
+    @QueryProjection
+    public TeamDto(Long teamId, String name, long memberCount) {
+        this.teamId = teamId;
+        this.name = name;
+        this.memberCount = memberCount;
+    }
+}
@@ -0,0 +1,19 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+@Data
+public class TeamMemberCountMismatch {
+
+    private Long teamId;
+    private long memberCount;
+    private long actualCount;
+
+    @QueryProjection
+    public TeamMemberCountMismatch(Long teamId, long memberCount, long actualCount) {
+        this.teamId = teamId;
+        this.memberCount = memberCount;
+        this.actualCount = actualCount;
+    }
+}
@@ -0,0 +1,11 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+
+@Data
+public class TeamSearchCondition {
+
+    private String name;
+    private Long memberCountGoe;
+    private Long memberCountLoe;
+}
@@ -0,0 +1,42 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+//* 한 번만 실행해야 하는 작업의 실행 기록 (ex. age-rollover:2026-10-18)
+//! 같은 runKey로는 결과(COMPLETED/FAILED)와 상관없이 다시 시작하지 않음, 실패한 범위는 작업 재시도로만 다시 돌림
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class JobRun {
+
+    @Id
+    @Column(name = "run_key")
+    private String runKey;
+    private String jobName;
+    private Long jobId;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public JobRun(String runKey, String jobName, Long jobId) {
+        this.runKey = runKey;
+        this.jobName = jobName;
+        this.jobId = jobId;
+        this.status = "RUNNING";
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public void finish(String status) {
+        this.status = status;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
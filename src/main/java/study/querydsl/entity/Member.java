@@ -2,14 +2,29 @@ package study.querydsl.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
+//* 정렬/필터 경로마다 member_id를 뒤에 붙인 인덱스 (tie-breaker까지 인덱스 순서로 읽을 수 있음)
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username, member_id"),
+        @Index(name = "idx_member_age", columnList = "age, member_id"),
+        @Index(name = "idx_member_team", columnList = "team_id, member_id")
+})
+//* 조회마다 고르는 fetch plan (MemberFetchPlan)
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Member.GRAPH_MEMBER_ONLY),
+        @NamedEntityGraph(name = Member.GRAPH_MEMBER_WITH_TEAM, attributeNodes = @NamedAttributeNode("team"))
+})
 public class Member {
 
+    public static final String GRAPH_MEMBER_ONLY = "member-only";
+    public static final String GRAPH_MEMBER_WITH_TEAM = "member-with-team";
+
     @Id
     @GeneratedValue
     @Column(name = "member_id")
@@ -36,8 +51,18 @@ public class Member {
         }
     }
 
-    private void changeTeam(Team team) {
+    //* 연관관계의 주인은 Member.team(FK), Team.members는 메모리 상태만 맞춰준다
+    //  - 새 팀: 초기화된 Team이면 항상 추가 (members가 로딩 전이면 Hibernate가 add를 큐에 쌓았다가 로딩될 때 반영, SELECT 없음)
+    //  - 이전 팀: remove는 컬렉션 전체를 로딩하므로 이미 로딩된 경우에만
+    //! 초기화되지 않은 프록시 Team은 getMembers()만으로 팀 row를 읽으므로 건너뜀 (이후 그 팀의 members를 로딩하면 flush 전 변경은 안 보임)
+    public void changeTeam(Team team) {
+        Team oldTeam = this.team;
         this.team = team;
-        team.getMembers().add(this);
+        if (oldTeam != null && Hibernate.isInitialized(oldTeam) && Hibernate.isInitialized(oldTeam.getMembers())) {
+            oldTeam.getMembers().remove(this);
+        }
+        if (team != null && Hibernate.isInitialized(team)) {
+            team.getMembers().add(this);
+        }
     }
 }
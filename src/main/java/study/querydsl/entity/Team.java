@@ -2,6 +2,7 @@ package study.querydsl.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +12,12 @@ import java.util.List;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@Table(indexes = {
+        @Index(name = "idx_team_name", columnList = "name"),
+        @Index(name = "idx_team_member_count", columnList = "member_count, team_id")
+})
+//* team 프록시를 초기화할 때 같은 세션의 다른 미초기화 team 프록시도 최대 100개씩 IN 쿼리 한 번으로 같이 채움 (MemberFetchPlan.MEMBER_WITH_TEAM_BATCH)
+@BatchSize(size = 100)
 public class Team {
 
     @Id
@@ -19,6 +26,12 @@ public class Team {
     private Long id;
     private String name;
 
+    //* 소속 회원 수 비정규화 컬럼 (TeamMemberCountListener가 커밋 직전에 원자적으로 증감)
+    //! 엔티티 값은 커밋 전까지 갱신되지 않으므로 dirty checking으로 덮어쓰지 않도록 updatable = false
+    @Setter(AccessLevel.NONE)
+    @Column(name = "member_count", nullable = false, updatable = false)
+    private long memberCount;
+
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
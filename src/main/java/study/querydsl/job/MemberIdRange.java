@@ -0,0 +1,10 @@
+package study.querydsl.job;
+
+//* (afterId, toId] 범위
+public record MemberIdRange(long afterId, long toId) {
+
+    @Override
+    public String toString() {
+        return "(" + afterId + ", " + toId + "]";
+    }
+}
@@ -0,0 +1,118 @@
+package study.querydsl.job;
+
+import study.querydsl.dto.MemberRangeJobProgress;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+//* 실행 중인 범위 작업 하나의 진행 상태 (작업 스레드들이 동시에 갱신)
+public class MemberRangeJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private final long id;
+    private final String name;
+    private final String runKey;
+    private final MemberRangeJobOptions options;
+    private final MemberTask task;
+    private final int totalRanges;
+    private final long startNanos = System.nanoTime();
+    private final AtomicInteger completedRanges = new AtomicInteger();
+    private final AtomicInteger retriedRanges = new AtomicInteger();
+    private final LongAdder processedMembers = new LongAdder();
+    private final List<MemberIdRange> failedRanges = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean failedRangesClaimed = new AtomicBoolean();
+    private final CompletableFuture<MemberRangeJobProgress> completion = new CompletableFuture<>();
+    private volatile long endNanos;
+
+    MemberRangeJob(long id, String name, String runKey, MemberRangeJobOptions options, MemberTask task, int totalRanges) {
+        this.id = id;
+        this.name = name;
+        this.runKey = runKey;
+        this.options = options;
+        this.task = task;
+        this.totalRanges = totalRanges;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    //* 모든 범위가 (성공이든 최종 실패든) 끝나면 완료
+    public CompletableFuture<MemberRangeJobProgress> getCompletion() {
+        return completion;
+    }
+
+    public Status getStatus() {
+        if (!completion.isDone()) {
+            return Status.RUNNING;
+        }
+        return failedRanges.isEmpty() ? Status.COMPLETED : Status.FAILED;
+    }
+
+    public MemberRangeJobProgress progress() {
+        long elapsedNanos = (completion.isDone() ? endNanos : System.nanoTime()) - startNanos;
+        long processed = processedMembers.sum();
+        return new MemberRangeJobProgress(id, name, getStatus().name(), options.workers(), totalRanges,
+                completedRanges.get(), retriedRanges.get(), processed, elapsedNanos / 1_000_000,
+                elapsedNanos > 0 ? processed * 1_000_000_000.0 / elapsedNanos : 0,
+                failedRanges.stream().map(MemberIdRange::toString).toList());
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getRunKey() {
+        return runKey;
+    }
+
+    MemberRangeJobOptions getOptions() {
+        return options;
+    }
+
+    MemberTask getTask() {
+        return task;
+    }
+
+    List<MemberIdRange> getFailedRanges() {
+        return List.copyOf(failedRanges);
+    }
+
+    //! 같은 실패 범위를 두 번 재시도하면 그 범위의 회원을 두 번 처리하므로, 끝난 작업에서 한 번만 가져갈 수 있음
+    List<MemberIdRange> claimFailedRanges() {
+        if (!completion.isDone()) {
+            throw new MemberRangeJobConflictException("아직 실행 중인 작업입니다. jobId=" + id);
+        }
+        if (!failedRangesClaimed.compareAndSet(false, true)) {
+            throw new MemberRangeJobConflictException("이미 재시도한 작업입니다. jobId=" + id);
+        }
+        return getFailedRanges();
+    }
+
+    void releaseFailedRanges() {
+        failedRangesClaimed.set(false);
+    }
+
+    void rangeCompleted(long processed) {
+        processedMembers.add(processed);
+        completedRanges.incrementAndGet();
+    }
+
+    void rangeRetried() {
+        retriedRanges.incrementAndGet();
+    }
+
+    void rangeFailed(MemberIdRange range) {
+        failedRanges.add(range);
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+        completion.complete(progress());
+    }
+}
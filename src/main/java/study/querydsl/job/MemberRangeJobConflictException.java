@@ -0,0 +1,9 @@
+package study.querydsl.job;
+
+//* 같은 이름의 작업이 실행 중이거나, 이미 쓴 runKey로 다시 시작하려고 함
+public class MemberRangeJobConflictException extends RuntimeException {
+
+    public MemberRangeJobConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package study.querydsl.job;
+
+import study.querydsl.support.InvalidOptionException;
+
+//* workers: 동시에 처리할 범위 수 (작업 스레드 풀 크기 이하)
+//* rangeSize: 한 트랜잭션이 맡는 member_id 폭, chunkSize: flush/clear 단위
+//* fromId/toId: 처리할 member_id 구간 (null이면 테이블 전체)
+public record MemberRangeJobOptions(int workers, long rangeSize, int chunkSize, int maxAttempts, Long fromId, Long toId) {
+
+    public static final long DEFAULT_RANGE_SIZE = 10_000;
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    public MemberRangeJobOptions {
+        if (workers <= 0 || rangeSize <= 0 || chunkSize <= 0 || maxAttempts <= 0) {
+            throw new InvalidOptionException("workers, rangeSize, chunkSize, maxAttempts는 1 이상이어야 합니다.");
+        }
+    }
+
+    public static MemberRangeJobOptions of(int workers) {
+        return new MemberRangeJobOptions(workers, DEFAULT_RANGE_SIZE, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_ATTEMPTS, null, null);
+    }
+}
@@ -0,0 +1,284 @@
+package study.querydsl.job;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.JobRun;
+import study.querydsl.entity.Member;
+import study.querydsl.support.InstrumentedJPAQueryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static study.querydsl.entity.QMember.member;
+
+//* member_id 공간을 범위로 나눠 작업 스레드 풀에서 병렬 처리
+//  - 범위 하나 = 트랜잭션 하나, 안에서는 chunkSize 건씩 keyset으로 읽고 flush/clear
+//  - 실패한 범위는 롤백되므로 처음부터 다시 시도 (maxAttempts 까지), 끝내 실패한 범위는 모아두었다가 retryFailed로 재실행
+//  - 같은 이름의 작업은 동시에 하나만 실행, runKey를 주면 그 키로는 한 번만 실행 (JobRun)
+//! 범위끼리 겹치는 row가 없으므로 워커 수만큼 처리량이 늘어나다가 DB(커넥션 풀/락/디스크)가 포화되면 멈춘다
+@Slf4j
+@Component
+public class MemberRangeJobRunner {
+
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private final EntityManager em;
+    private final InstrumentedJPAQueryFactory queryFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Map<Long, MemberRangeJob> jobs = new ConcurrentHashMap<>();
+    private final Set<String> runningNames = ConcurrentHashMap.newKeySet();
+    private final AtomicLong jobSequence = new AtomicLong();
+
+    public MemberRangeJobRunner(EntityManager em,
+                                InstrumentedJPAQueryFactory queryFactory,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("memberJobExecutor") ThreadPoolTaskExecutor executor) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+    }
+
+    public MemberRangeJob submit(String name, MemberRangeJobOptions options, MemberTask task) {
+        return submit(name, null, options, task);
+    }
+
+    //* runKey: 한 번만 실행해야 하는 작업의 키 (ex. age-rollover:업무일자), 이미 쓴 키면 MemberRangeJobConflictException
+    public MemberRangeJob submit(String name, String runKey, MemberRangeJobOptions options, MemberTask task) {
+        return start(name, runKey, options, task, () -> split(options));
+    }
+
+    //* 재시도까지 모두 실패한 범위만 새 작업으로 다시 실행 (작업 하나의 실패 범위는 한 번만 재시도)
+    public Optional<MemberRangeJob> retryFailed(long jobId) {
+        return findJob(jobId).map(job -> {
+            List<MemberIdRange> failedRanges = job.claimFailedRanges();
+            try {
+                return start(job.getName() + "-retry", null, job.getOptions(), job.getTask(), () -> failedRanges);
+            } catch (RuntimeException e) {
+                job.releaseFailedRanges();
+                throw e;
+            }
+        });
+    }
+
+    public Optional<MemberRangeJob> findJob(long jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private MemberRangeJob start(String name, String runKey, MemberRangeJobOptions options, MemberTask task,
+                                 Supplier<List<MemberIdRange>> rangeSupplier) {
+        //! 같은 이름의 작업이 동시에 돌면 같은 회원을 두 번 처리하게 됨 (ex. 나이 +2)
+        if (!runningNames.add(name)) {
+            throw new MemberRangeJobConflictException("이미 실행 중인 작업입니다. name=" + name);
+        }
+        long jobId = jobSequence.incrementAndGet();
+        boolean recorded = false;
+        try {
+            if (runKey != null) {
+                recordRun(runKey, name, jobId);
+                recorded = true;
+            }
+            List<MemberIdRange> ranges = rangeSupplier.get();
+            MemberRangeJob job = new MemberRangeJob(jobId, name, runKey, options, task, ranges.size());
+            launch(job, ranges);
+            return job;
+        } catch (RuntimeException | Error e) {
+            //* 시작하지 못한 작업은 등록을 되돌림 (작업 목록, 실행 중인 이름, runKey)
+            jobs.remove(jobId);
+            runningNames.remove(name);
+            if (recorded) {
+                deleteRun(runKey);
+            }
+            throw e;
+        }
+    }
+
+    private void launch(MemberRangeJob job, List<MemberIdRange> ranges) {
+        //! 풀 크기보다 많은 워커는 큐에서 기다리기만 하므로 풀 크기로 제한
+        int workers = Math.min(job.getOptions().workers(), executor.getMaxPoolSize());
+        jobs.put(job.getId(), job);
+        jobs.keySet().removeIf(id -> id <= job.getId() - MAX_RETAINED_JOBS);
+
+        Queue<MemberIdRange> pending = new ConcurrentLinkedQueue<>(ranges);
+        List<CompletableFuture<Void>> loops = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            try {
+                loops.add(CompletableFuture.runAsync(() -> runLoop(job, pending), executor));
+            } catch (RejectedExecutionException e) {
+                // 워커를 하나도 못 띄웠으면 시작 실패, 일부라도 떴으면 남은 범위는 그 워커들이 나눠 처리
+                if (loops.isEmpty()) {
+                    throw e;
+                }
+                log.warn("range job worker rejected, continuing with {} workers. id={}", loops.size(), job.getId());
+                break;
+            }
+        }
+        log.info("range job started id={} name={} ranges={} workers={}", job.getId(), job.getName(), ranges.size(), loops.size());
+
+        CompletableFuture.allOf(loops.toArray(CompletableFuture[]::new)).whenComplete((ignored, e) -> {
+            if (e != null) {
+                //! 워커가 죽어서 처리하지 못한 범위가 남았으면 실패로 기록 (COMPLETED로 보이지 않도록)
+                log.error("range job worker died id={}", job.getId(), e);
+                MemberIdRange left;
+                while ((left = pending.poll()) != null) {
+                    job.rangeFailed(left);
+                }
+            }
+            try {
+                finishRun(job);
+            } finally {
+                runningNames.remove(job.getName());
+                job.finish();
+            }
+            log.info("range job finished {}", job.progress());
+        });
+    }
+
+    private void runLoop(MemberRangeJob job, Queue<MemberIdRange> pending) {
+        MemberIdRange range;
+        while ((range = pending.poll()) != null) {
+            try {
+                processWithRetry(job, range);
+            } catch (Error e) {
+                // 재시도 대상이 아닌 Error: 이 범위는 실패로 남기고 워커 종료
+                job.rangeFailed(range);
+                throw e;
+            }
+        }
+    }
+
+    private void recordRun(String runKey, String name, long jobId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                JobRun previous = em.find(JobRun.class, runKey);
+                if (previous != null) {
+                    throw new MemberRangeJobConflictException("이미 실행한 작업입니다. " + previous);
+                }
+                em.persist(new JobRun(runKey, name, jobId));
+            });
+        } catch (DataIntegrityViolationException e) {
+            //? 다른 요청(인스턴스)이 같은 키로 동시에 시작한 경우 PK 중복으로 커밋 실패
+            throw new MemberRangeJobConflictException("이미 실행한 작업입니다. runKey=" + runKey);
+        }
+    }
+
+    private void finishRun(MemberRangeJob job) {
+        if (job.getRunKey() == null) {
+            return;
+        }
+        String status = job.getFailedRanges().isEmpty() ? MemberRangeJob.Status.COMPLETED.name() : MemberRangeJob.Status.FAILED.name();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> em.find(JobRun.class, job.getRunKey()).finish(status));
+        } catch (RuntimeException e) {
+            log.error("failed to record job run result runKey={} status={}", job.getRunKey(), status, e);
+        }
+    }
+
+    private void deleteRun(String runKey) {
+        transactionTemplate.executeWithoutResult(status -> {
+            JobRun run = em.find(JobRun.class, runKey);
+            if (run != null) {
+                em.remove(run);
+            }
+        });
+    }
+
+    List<MemberIdRange> split(MemberRangeJobOptions options) {
+        Tuple bounds = transactionTemplate.execute(status -> queryFactory.named("MemberRangeJobRunner.split")
+                .select(member.id.min(), member.id.max())
+                .from(member)
+                .where(idGoe(options.fromId()), idLoe(options.toId()))
+                .fetchOne());
+        List<MemberIdRange> ranges = new ArrayList<>();
+        if (bounds == null || bounds.get(member.id.min()) == null) {
+            return ranges;
+        }
+
+        long min = bounds.get(member.id.min());
+        long max = bounds.get(member.id.max());
+        for (long after = min - 1; after < max; after += options.rangeSize()) {
+            ranges.add(new MemberIdRange(after, Math.min(after + options.rangeSize(), max)));
+        }
+        return ranges;
+    }
+
+    private void processWithRetry(MemberRangeJob job, MemberIdRange range) {
+        int maxAttempts = job.getOptions().maxAttempts();
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                job.rangeCompleted(process(range, job.getOptions().chunkSize(), job.getTask()));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == maxAttempts) {
+                    log.error("range failed jobId={} range={} attempts={}", job.getId(), range, attempt, e);
+                    job.rangeFailed(range);
+                    return;
+                }
+                log.warn("range failed, retrying jobId={} range={} attempt={}", job.getId(), range, attempt, e);
+                job.rangeRetried();
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    job.rangeFailed(range);
+                    return;
+                }
+            }
+        }
+    }
+
+    private long process(MemberIdRange range, int chunkSize, MemberTask task) {
+        Long processed = transactionTemplate.execute(status -> {
+            long count = 0;
+            long after = range.afterId();
+            while (true) {
+                List<Member> members = queryFactory.named("MemberRangeJobRunner.process")
+                        .selectFrom(member)
+                        .where(member.id.gt(after), member.id.loe(range.toId()))
+                        .orderBy(member.id.asc())
+                        .limit(chunkSize)
+                        .fetch();
+                for (Member m : members) {
+                    task.process(m);
+                }
+                //* 청크마다 반영하고 비워서 영속성 컨텍스트가 범위 크기만큼 커지지 않게 함
+                em.flush();
+                em.clear();
+                count += members.size();
+                if (members.size() < chunkSize) {
+                    return count;
+                }
+                after = members.get(members.size() - 1).getId();
+            }
+        });
+        return processed != null ? processed : 0;
+    }
+
+    private BooleanExpression idGoe(Long fromId) {
+        return fromId != null ? member.id.goe(fromId) : null;
+    }
+
+    private BooleanExpression idLoe(Long toId) {
+        return toId != null ? member.id.loe(toId) : null;
+    }
+}
@@ -0,0 +1,11 @@
+package study.querydsl.job;
+
+import study.querydsl.entity.Member;
+
+//* 범위 작업이 회원 한 명마다 하는 일 (영속 상태의 엔티티를 바꾸면 청크 flush 때 반영됨)
+//! 범위 단위로 재시도되므로 같은 회원에게 여러 번 호출될 수 있음 -> 롤백된 시도의 부수효과(외부 호출 등)는 넣지 말 것
+@FunctionalInterface
+public interface MemberTask {
+
+    void process(Member member);
+}
@@ -0,0 +1,15 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+
+//* 정렬 화이트리스트에 없는 프로퍼티로 정렬을 요청함
+@Getter
+public class InvalidSortPropertyException extends IllegalArgumentException {
+
+    private final String property;
+
+    public InvalidSortPropertyException(String property) {
+        super("정렬할 수 없는 프로퍼티입니다. property=" + property);
+        this.property = property;
+    }
+}
@@ -0,0 +1,129 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Team;
+import study.querydsl.support.InstrumentedJPAQueryFactory;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static study.querydsl.entity.QMember.member;
+
+//* 회원 bulk 삽입/삭제/팀 변경. 바뀐 행의 팀별 건수를 같은 트랜잭션에서 team.member_count에 반영
+//? 엔티티 이벤트가 없는 bulk DML은 TeamMemberCountListener가 보지 못하므로 회원 소속을 바꾸는 bulk 연산은 여기를 거칠 것
+//! bulk 연산이므로 영속성 컨텍스트를 거치지 않는다. 호출하는 쪽에서 반드시 정리할 것
+@Repository
+@RequiredArgsConstructor
+public class MemberBulkRepository {
+
+    static final int CHUNK_SIZE = 1000;
+    private static final String UPDATE_SQL = "update team set member_count = member_count + ? where team_id = ?";
+
+    private final EntityManager em;
+    private final InstrumentedJPAQueryFactory queryFactory;
+
+    //* 대상 행을 잠그고 (member_id, team_id)를 읽은 뒤 삭제, 팀별 삭제 건수만큼 뺌
+    @Transactional
+    public long deleteWhere(Predicate where) {
+        JPAQueryFactory queries = queryFactory.named("MemberBulkRepository.deleteWhere");
+        List<Tuple> rows = lockMembers(queries, where);
+        Map<Long, Long> deltas = new HashMap<>();
+        List<Long> ids = rows.stream().map(row -> row.get(member.id)).toList();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            queries.delete(member)
+                    .where(member.id.in(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))))
+                    .execute();
+        }
+        rows.forEach(row -> addDelta(deltas, row.get(member.team.id), -1));
+        applyDeltas(deltas);
+        return ids.size();
+    }
+
+    //* 대상 회원을 teamId 팀으로 옮김 (null이면 소속 해제), 원래 팀은 빼고 새 팀은 더함
+    @Transactional
+    public long changeTeam(Predicate where, Long teamId) {
+        JPAQueryFactory queries = queryFactory.named("MemberBulkRepository.changeTeam");
+        List<Tuple> rows = lockMembers(queries, where).stream()
+                .filter(row -> !Objects.equals(row.get(member.team.id), teamId))
+                .toList();
+        Map<Long, Long> deltas = new HashMap<>();
+        List<Long> ids = rows.stream().map(row -> row.get(member.id)).toList();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            //! member.team은 연관관계라 id 대신 참조로 세팅
+            queries.update(member)
+                    .set(member.team, teamId != null ? em.getReference(Team.class, teamId) : null)
+                    .where(member.id.in(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))))
+                    .execute();
+        }
+        rows.forEach(row -> {
+            addDelta(deltas, row.get(member.team.id), -1);
+            addDelta(deltas, teamId, 1);
+        });
+        applyDeltas(deltas);
+        return ids.size();
+    }
+
+    //* insert ... select 같은 네이티브 bulk 삽입 후 새 행의 팀별 건수(group by team_id)를 더함
+    //! 새 행의 member_id는 모두 (fromIdExclusive, toIdInclusive] 안이고, 그 범위에 기존 행이 없어야 함
+    @Transactional
+    public long insertNative(String insertSql, long fromIdExclusive, long toIdInclusive) {
+        int inserted = em.createNativeQuery(insertSql).executeUpdate();
+        @SuppressWarnings("unchecked")
+        List<Object[]> counts = em.createNativeQuery("select team_id, count(*) from member"
+                        + " where member_id > ? and member_id <= ? and team_id is not null group by team_id")
+                .setParameter(1, fromIdExclusive)
+                .setParameter(2, toIdInclusive)
+                .getResultList();
+        Map<Long, Long> deltas = new HashMap<>();
+        counts.forEach(count -> addDelta(deltas, ((Number) count[0]).longValue(), ((Number) count[1]).longValue()));
+        applyDeltas(deltas);
+        return inserted;
+    }
+
+    //? 대기 중인 엔티티 변경을 먼저 내보내야 조건에 맞는 행을 빠짐없이 읽음
+    private List<Tuple> lockMembers(JPAQueryFactory queries, Predicate where) {
+        em.flush();
+        return queries.select(member.id, member.team.id)
+                .from(member)
+                .where(where)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+    }
+
+    private static void addDelta(Map<Long, Long> deltas, Long teamId, long delta) {
+        if (teamId != null) {
+            deltas.merge(teamId, delta, Long::sum);
+        }
+    }
+
+    //! member_count는 updatable = false 컬럼이라 네이티브 쿼리로 갱신 (TeamMemberCountListener와 같은 SQL)
+    private void applyDeltas(Map<Long, Long> deltas) {
+        if (deltas.values().stream().allMatch(delta -> delta == 0)) {
+            return;
+        }
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+                for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                    if (entry.getValue() == 0) {
+                        continue;
+                    }
+                    statement.setLong(1, entry.getValue());
+                    statement.setLong(2, entry.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
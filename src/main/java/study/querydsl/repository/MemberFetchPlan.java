@@ -0,0 +1,108 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Pageable;
+import study.querydsl.entity.Member;
+
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_FETCH_GRAPH;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+//* Member를 돌려주는 조회에서 호출하는 쪽이 고르는 fetch plan (Member의 @NamedEntityGraph)
+//  - MEMBER_ONLY: team은 프록시로 남김 (team을 안 쓰는 호출)
+//  - MEMBER_WITH_TEAM: fetch graph로 team을 같은 쿼리에서 조인해서 가져옴
+//  - MEMBER_WITH_TEAM_BATCH: 회원을 먼저 읽고 팀은 Team의 @BatchSize로 묶어서 채움 (회원 수에 비해 팀 수가 적을 때 중복 row가 없음)
+//! 어느 plan이든 team을 읽는 쿼리 수가 회원 수와 무관 (row마다 프록시 초기화 쿼리가 나가지 않음)
+//? MemberJpaRepository, MemberRepositoryImpl이 같이 쓰는 조회 구현 (메트릭 기록과 트랜잭션은 각 리포지토리 메서드에서)
+public enum MemberFetchPlan {
+
+    MEMBER_ONLY("member-only", Member.GRAPH_MEMBER_ONLY),
+    MEMBER_WITH_TEAM("member-with-team", Member.GRAPH_MEMBER_WITH_TEAM),
+    MEMBER_WITH_TEAM_BATCH("member-with-team-batch", Member.GRAPH_MEMBER_ONLY);
+
+    private final String planName;
+    private final String graphName;
+
+    MemberFetchPlan(String planName, String graphName) {
+        this.planName = planName;
+        this.graphName = graphName;
+    }
+
+    public String getPlanName() {
+        return planName;
+    }
+
+    //! 배치 로딩은 회원을 읽은 세션에서 해야 프록시가 채워지므로 호출하는 메서드가 트랜잭션 안이어야 함
+    List<Member> fetch(JPAQueryFactory queryFactory, EntityManager em, Predicate where) {
+        boolean joinsTeam = referencesTeam(where);
+        return fetch(selectFrom(queryFactory, joinsTeam).where(where), em, joinsTeam);
+    }
+
+    //* team으로 정렬하거나 team 별칭으로 거르는 페이지
+    List<Member> fetchPage(JPAQueryFactory queryFactory, EntityManager em, Predicate where, Pageable pageable,
+                           OrderSpecifier<?>[] orders, boolean sortedByTeam) {
+        boolean joinsTeam = sortedByTeam || referencesTeam(where);
+        JPAQuery<Member> query = selectFrom(queryFactory, joinsTeam)
+                .where(where)
+                .orderBy(orders)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize());
+        return fetch(query, em, joinsTeam);
+    }
+
+    //* where가 team 별칭(QTeam.team)을 직접 쓰면 from 절에 team 조인이 있어야 유효한 JPQL이 됨 (count 쿼리도 같은 기준으로 조인)
+    //? member.team.name처럼 member에서 이어지는 경로는 Hibernate가 암시적 조인을 만들어 줌, 서브쿼리는 자기 from 절을 씀
+    static boolean referencesTeam(Expression<?> where) {
+        if (where instanceof BooleanBuilder builder) {
+            return referencesTeam(builder.getValue());
+        }
+        if (where instanceof Path<?> path) {
+            return team.equals(path.getRoot());
+        }
+        if (where instanceof Operation<?> operation) {
+            return operation.getArgs().stream().anyMatch(MemberFetchPlan::referencesTeam);
+        }
+        if (where instanceof TemplateExpression<?> template) {
+            return template.getArgs().stream()
+                    .anyMatch(arg -> arg instanceof Expression<?> expr && referencesTeam(expr));
+        }
+        return false;
+    }
+
+    //* team 조인은 한 번만 (MEMBER_WITH_TEAM이면 그 조인을 fetch join으로 써서 graph 조인이 따로 붙지 않게)
+    private JPAQuery<Member> selectFrom(JPAQueryFactory queryFactory, boolean joinsTeam) {
+        JPAQuery<Member> query = queryFactory.selectFrom(member);
+        if (joinsTeam) {
+            query.leftJoin(member.team, team);
+            if (this == MEMBER_WITH_TEAM) {
+                query.fetchJoin();
+            }
+        }
+        return query;
+    }
+
+    private List<Member> fetch(JPAQuery<Member> query, EntityManager em, boolean joinsTeam) {
+        return joinsTeam && this == MEMBER_WITH_TEAM ? query.fetch() : fetch(query, em);
+    }
+
+    private List<Member> fetch(JPAQuery<Member> query, EntityManager em) {
+        List<Member> members = query.setHint(HINT_SPEC_FETCH_GRAPH, em.getEntityGraph(graphName)).fetch();
+        if (this == MEMBER_WITH_TEAM_BATCH) {
+            //? 첫 프록시를 초기화할 때 세션에 남은 미초기화 team 프록시를 @BatchSize 만큼 IN 쿼리 한 번으로 같이 채움
+            members.forEach(m -> Hibernate.initialize(m.getTeam()));
+        }
+        return members;
+    }
+}
@@ -2,18 +2,23 @@ package study.querydsl.repository;
 
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.FlushMode;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.support.InstrumentedJPAQueryFactory;
+import study.querydsl.support.QueryMetrics;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 import static org.springframework.util.StringUtils.*;
 import static study.querydsl.entity.QMember.*;
 import static study.querydsl.entity.QTeam.team;
@@ -24,7 +29,8 @@ public class MemberJpaRepository {
 
     //? EntityManger는 "트랜잭션 단위"로 다른데에 바인딩 되도록 라우팅해주기 때문에 멀티 스레드 환경에서의 동시성 문제는 없다!
     private final EntityManager em;
-    private final JPAQueryFactory queryFactory;
+    private final InstrumentedJPAQueryFactory queryFactory;
+    private final QueryMetrics queryMetrics;
 
     //* Application 클래스에서 @Bean으로 수동 주입했기 때문에 바로 주입 가능
     /*public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory) {
@@ -47,11 +53,41 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findAllWithQuerydsl() {
-        return queryFactory
+        return queryFactory.named("MemberJpaRepository.findAllWithQuerydsl")
                 .selectFrom(member)
                 .fetch();
     }
 
+    //* 읽기 전용 조회: 엔티티 스냅샷을 만들지 않아 dirty checking 대상에서 빠지고(메모리 절약), 쿼리 전 auto flush도 생략
+    //? 트랜잭션 단위로 적용하려면 서비스에 @Transactional(readOnly = true)를 붙이면 된다 (세션 전체가 read-only + FlushMode.MANUAL)
+    //! 조회한 엔티티를 수정해도 DB에 반영되지 않음
+    @Transactional(readOnly = true)
+    public List<Member> findAllReadOnly() {
+        return em.createQuery("select m from Member m", Member.class)
+                .setHint(HINT_READ_ONLY, true)
+                .setHint(HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Member> findAllWithQuerydslReadOnly() {
+        return queryFactory.named("MemberJpaRepository.findAllWithQuerydslReadOnly")
+                .selectFrom(member)
+                .setHint(HINT_READ_ONLY, true)
+                .setHint(HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .fetch();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Member> findByUsernameWithQuerydslReadOnly(String username) {
+        return queryFactory.named("MemberJpaRepository.findByUsernameWithQuerydslReadOnly")
+                .selectFrom(member)
+                .where(member.username.eq(username))
+                .setHint(HINT_READ_ONLY, true)
+                .setHint(HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .fetch();
+    }
+
     public List<Member> findByUsername(String username) {
         return em.createQuery("select m from Member m where m.username = :username", Member.class)
                 .setParameter("username", username)
@@ -59,12 +95,35 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findByUsernameWithQuerydsl(String username) {
-        return queryFactory
+        return queryFactory.named("MemberJpaRepository.findByUsernameWithQuerydsl")
                 .selectFrom(member)
                 .where(member.username.eq(username))
                 .fetch();
     }
 
+    //* 호출마다 fetch plan을 고르는 버전 (MemberFetchPlan), 배치 로딩이 같은 세션에서 일어나도록 읽기 전용 트랜잭션
+    @Transactional(readOnly = true)
+    public List<Member> findAll(MemberFetchPlan plan) {
+        String method = "MemberJpaRepository.findAll";
+        return queryMetrics.recordFetchPlan(method, plan.getPlanName(),
+                () -> plan.fetch(queryFactory.named(method), em, null), List::size);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Member> findById(Long id, MemberFetchPlan plan) {
+        String method = "MemberJpaRepository.findById";
+        return queryMetrics.recordFetchPlan(method, plan.getPlanName(),
+                () -> plan.fetch(queryFactory.named(method), em, member.id.eq(id)).stream().findFirst(),
+                found -> found.isPresent() ? 1 : 0);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Member> findByUsername(String username, MemberFetchPlan plan) {
+        String method = "MemberJpaRepository.findByUsername";
+        return queryMetrics.recordFetchPlan(method, plan.getPlanName(),
+                () -> plan.fetch(queryFactory.named(method), em, member.username.eq(username)), List::size);
+    }
+
     public List<MemberTeamDto> searchByBuilder(MemberSearchCondition cond) {
 
         BooleanBuilder builder = new BooleanBuilder();
@@ -87,7 +146,7 @@ public class MemberJpaRepository {
         }
 
 
-        return queryFactory
+        return queryFactory.named("MemberJpaRepository.searchByBuilder")
                 // dto로 성능 최적화
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -106,7 +165,7 @@ public class MemberJpaRepository {
 
     public List<MemberTeamDto> search(MemberSearchCondition cond) {
 
-        return queryFactory
+        return queryFactory.named("MemberJpaRepository.search")
                 // dto로 성능 최적화
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -129,6 +188,33 @@ public class MemberJpaRepository {
 
     }
 
+    //* 비용 제한에 걸린 검색은 id 순으로 limit 건까지만 조회
+    public List<MemberTeamDto> search(MemberSearchCondition cond, long limit) {
+
+        return queryFactory.named("MemberJpaRepository.search")
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(cond.getUsername()),
+                        teamNameEq(cond.getTeamName()),
+                        ageGoe(cond.getAgeGoe()),
+                        ageLoe(cond.getAgeLoe())
+
+                )
+                .orderBy(member.id.asc())
+                .limit(limit)
+                .fetch();
+
+    }
+
     private BooleanExpression ageBetween(int ageLoe, int ageGoe) {
         return ageLoe(ageLoe).and(ageGoe(ageGoe));
     }
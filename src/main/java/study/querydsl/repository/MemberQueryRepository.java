@@ -1,12 +1,11 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.jpa.impl.JPAQueryFactory;
-import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Repository;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.support.InstrumentedJPAQueryFactory;
 
 import java.util.List;
 
@@ -17,15 +16,15 @@ import static study.querydsl.entity.QTeam.team;
 @Repository
 //* query 전용 리포지토리로 아예 생성해서 사용하는 것도 관심사의 분리가 적용된 좋은 설계라고 할 수 있음
 public class MemberQueryRepository {
-    private final JPAQueryFactory queryFactory;
+    private final InstrumentedJPAQueryFactory queryFactory;
 
-    public MemberQueryRepository(EntityManager em) {
-        this.queryFactory = new JPAQueryFactory(em);
+    public MemberQueryRepository(InstrumentedJPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
     }
 
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
 
-        return queryFactory
+        return queryFactory.named("MemberQueryRepository.search")
                 // dto로 성능 최적화
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
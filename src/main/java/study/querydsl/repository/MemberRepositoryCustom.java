@@ -1,13 +1,33 @@
 package study.querydsl.repository;
 
+import com.querydsl.core.types.Predicate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamColumns;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface MemberRepositoryCustom {
     List<MemberTeamDto> search(MemberSearchCondition condition);
+    MemberTeamColumns searchColumns(MemberSearchCondition condition);
     Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
+    Page<MemberTeamDto> searchPageWindow(MemberSearchCondition condition, Pageable pageable);
+    List<Long> searchPageIds(MemberSearchCondition condition, Pageable pageable);
+    List<MemberTeamDto> searchByIdsInOrder(List<Long> memberIds);
+    long searchCount(MemberSearchCondition condition);
+    List<MemberTeamDto> searchByIds(Collection<Long> memberIds);
+    List<Long> findIdsByTeamAfter(Long teamId, Long afterMemberId, int limit);
+    long addAgeByTeamInIdRange(Long teamId, Long fromMemberIdExclusive, Long toMemberIdInclusive, int delta);
+
+    //* findAll/findById/findByUsername/QuerydslPredicateExecutor.findAll 에 호출마다 fetch plan을 고를 수 있는 버전
+    List<Member> findAll(MemberFetchPlan plan);
+    Optional<Member> findById(Long id, MemberFetchPlan plan);
+    List<Member> findByUsername(String username, MemberFetchPlan plan);
+    List<Member> findAll(Predicate predicate, MemberFetchPlan plan);
+    Page<Member> findAll(Predicate predicate, Pageable pageable, MemberFetchPlan plan);
 }
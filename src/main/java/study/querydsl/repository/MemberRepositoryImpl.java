@@ -1,20 +1,40 @@
 package study.querydsl.repository;
 
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamColumns;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.support.InstrumentedJPAQueryFactory;
+import study.querydsl.support.QueryMetrics;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
@@ -22,15 +42,45 @@ import static study.querydsl.entity.QTeam.team;
 
 //! suffix는 항상 Impl로 끝내야됨
 public class MemberRepositoryImpl extends QuerydslRepositorySupport implements MemberRepositoryCustom {
-    private final JPAQueryFactory queryFactory;
+
+    //! 정렬 가능한 프로퍼티 화이트리스트
+    //  - member 컬럼은 (컬럼, member_id) 인덱스 순서로 읽을 수 있음 (Member의 @Table(indexes) 참고)
+    //  - teamName은 left join 너머의 컬럼이라 인덱스로 정렬을 대신할 수 없고 조인 결과를 정렬함
+    private static final Map<String, ComparableExpressionBase<?>> SORTABLE_PATHS = Map.of(
+            "memberId", member.id,
+            "id", member.id,
+            "username", member.username,
+            "age", member.age,
+            "teamName", team.name
+    );
+
+    //* 페이지 row마다 limit/offset 적용 전 전체 결과 건수를 같이 돌려줌 (count 쿼리 왕복 생략)
+    private static final NumberExpression<Long> TOTAL_OVER = Expressions.numberTemplate(Long.class, "count(*) over()");
+
+    //? COUNT_QUERY: 페이지 + count 쿼리 (첫/마지막 페이지가 덜 차면 count 생략), WINDOW: 페이지와 전체 건수를 한 statement로
+    public enum TotalStrategy {
+        COUNT_QUERY, WINDOW
+    }
+
+    private final InstrumentedJPAQueryFactory queryFactory;
+    private final QueryMetrics queryMetrics;
+    private final long deferredJoinOffsetThreshold;
+    private final TotalStrategy totalStrategy;
 
 //    public MemberRepositoryImpl(EntityManager em) {
 //        this.queryFactory = new JPAQueryFactory(em);
 //    }
 
-    public MemberRepositoryImpl(EntityManager em) {
+    //* 계측된 JPAQueryFactory 빈을 주입받아 사용 (QuerydslConfig)
+    public MemberRepositoryImpl(InstrumentedJPAQueryFactory queryFactory,
+                                QueryMetrics queryMetrics,
+                                @Value("${member.paging.deferred-join-offset-threshold:1000}") long deferredJoinOffsetThreshold,
+                                @Value("${member.paging.total-strategy:COUNT_QUERY}") TotalStrategy totalStrategy) {
         super(Member.class);
-        this.queryFactory = new JPAQueryFactory(em);
+        this.queryFactory = queryFactory;
+        this.queryMetrics = queryMetrics;
+        this.deferredJoinOffsetThreshold = deferredJoinOffsetThreshold;
+        this.totalStrategy = totalStrategy;
     }
 
 
@@ -56,7 +106,7 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                 ))
                 .fetch();
 
-        return queryFactory
+        return queryFactory.named("MemberRepositoryImpl.search")
                 // dto로 성능 최적화
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -79,13 +129,14 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
 
     }
 
+    //* 대량 export/분석용: DTO 리스트를 만들지 않고 결과를 스트리밍하면서 바로 컬럼 배열에 채움
+    //! 스트림은 트랜잭션(세션)이 열려 있는 동안만 읽을 수 있음
     @Override
-    public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> contents = getMemberTeamDtos(condition, pageable);
-
-        // count 쿼리 최적화
-        JPAQuery<Long> countQuery = queryFactory
-                .select(member.count())
+    @Transactional(readOnly = true)
+    public MemberTeamColumns searchColumns(MemberSearchCondition condition) {
+        MemberTeamColumns.Builder builder = MemberTeamColumns.builder();
+        try (Stream<Tuple> rows = queryFactory.named("MemberRepositoryImpl.searchColumns")
+                .select(member.id, member.username, member.age, team.id, team.name)
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(
@@ -93,24 +144,227 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
-                );
+                )
+                .orderBy(member.id.asc())
+                .stream()) {
+            rows.forEach(row -> builder.add(row.get(member.id), row.get(member.username), row.get(member.age),
+                    row.get(team.id), row.get(team.name)));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        if (totalStrategy == TotalStrategy.WINDOW) {
+            return searchPageWindow(condition, pageable);
+        }
+        JPAQueryFactory queries = queryFactory.named("MemberRepositoryImpl.searchPageSimple");
+        //* offset이 깊으면 건너뛸 row까지 조인/프로젝션하지 않도록 id만 먼저 페이징
+        List<MemberTeamDto> contents = pageable.getOffset() >= deferredJoinOffsetThreshold
+                ? getMemberTeamDtosByDeferredJoin(queries, condition, pageable)
+                : getMemberTeamDtos(queries, condition, pageable);
+
+        // count 쿼리 최적화
+        JPAQuery<Long> countQuery = countQuery(queries, condition);
 
         return PageableExecutionUtils.getPage(contents, pageable, countQuery::fetchOne);
 //        return new PageImpl<>(contents, pageable, total);
 
     }
 
-    private List<MemberTeamDto> getMemberTeamDtos(MemberSearchCondition condition, Pageable pageable) {
-        return queryFactory
-                // dto로 성능 최적화
+    //* 페이지 row와 전체 건수를 COUNT(*) OVER()로 한 번에 조회 (deferred join이면 id 쿼리에 붙임)
+    //! 윈도우 함수는 조건에 맞는 row를 모두 센 뒤에 offset/limit을 적용하므로 count 쿼리와 읽는 양은 같고 왕복만 줄어듦
+    //  PageableExecutionUtils처럼 덜 찬 첫 페이지에서 count를 건너뛰는 최적화는 없음
+    @Override
+    public Page<MemberTeamDto> searchPageWindow(MemberSearchCondition condition, Pageable pageable) {
+        JPAQueryFactory queries = queryFactory.named("MemberRepositoryImpl.searchPageWindow");
+        List<MemberTeamDto> contents;
+        Long total;
+        if (pageable.getOffset() >= deferredJoinOffsetThreshold) {
+            List<Tuple> rows = pageIdQuery(queries, condition, pageable).select(member.id, TOTAL_OVER).fetch();
+            contents = searchByIdsInOrder(queries, rows.stream().map(row -> row.get(member.id)).toList());
+            total = rows.isEmpty() ? null : rows.get(0).get(TOTAL_OVER);
+        } else {
+            QMemberTeamDto dto = memberTeamDto();
+            List<Tuple> rows = pageRowQuery(queries, condition, pageable).select(dto, TOTAL_OVER).fetch();
+            contents = rows.stream().map(row -> row.get(dto)).toList();
+            total = rows.isEmpty() ? null : rows.get(0).get(TOTAL_OVER);
+        }
+
+        //? 마지막 페이지를 지나쳐서 row가 하나도 없으면 전체 건수를 알 수 없으므로 그때만 count 쿼리
+        if (total == null) {
+            total = pageable.getOffset() == 0 ? 0 : count(queries, condition);
+        }
+        return new PageImpl<>(contents, pageable, total);
+    }
+
+    //* deferred join 1단계만: 페이지의 id를 정렬 순서대로 (큰 페이지를 청크로 나눠 읽을 때 사용)
+    @Override
+    public List<Long> searchPageIds(MemberSearchCondition condition, Pageable pageable) {
+        return searchPageIds(queryFactory.named("MemberRepositoryImpl.searchPageIds"), condition, pageable);
+    }
+
+    private List<Long> searchPageIds(JPAQueryFactory queries, MemberSearchCondition condition, Pageable pageable) {
+        return pageIdQuery(queries, condition, pageable).select(member.id).fetch();
+    }
+
+    @Override
+    public long searchCount(MemberSearchCondition condition) {
+        return count(queryFactory.named("MemberRepositoryImpl.searchCount"), condition);
+    }
+
+    private long count(JPAQueryFactory queries, MemberSearchCondition condition) {
+        Long count = countQuery(queries, condition).fetchOne();
+        return count != null ? count : 0;
+    }
+
+    //* member -> team은 다대일 left join이라 row 수를 바꾸지 않음: team 조건이 없으면 count에서 조인을 뺌
+    private JPAQuery<Long> countQuery(JPAQueryFactory queries, MemberSearchCondition condition) {
+        JPAQuery<Long> query = queries
+                .select(member.count())
+                .from(member);
+        if (filtersByTeam(condition)) {
+            query.leftJoin(member.team, team);
+        }
+        return query.where(
+                usernameEq(condition.getUsername()),
+                teamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())
+        );
+    }
+
+    //! where 절에서 team을 쓰는 조건은 teamNameEq 하나뿐 (조건을 추가하면 여기도 같이 고칠 것)
+    private static boolean filtersByTeam(MemberSearchCondition condition) {
+        return hasText(condition.getTeamName());
+    }
+
+    //* IN 절 하나로 조회 (청크 분할과 순서 보장은 MemberLookupService에서 담당)
+    @Override
+    public List<MemberTeamDto> searchByIds(Collection<Long> memberIds) {
+        return searchByIds(queryFactory.named("MemberRepositoryImpl.searchByIds"), memberIds);
+    }
+
+    private List<MemberTeamDto> searchByIds(JPAQueryFactory queries, Collection<Long> memberIds) {
+        return queries
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
                         member.age,
                         team.id.as("teamId"),
                         team.name.as("teamName")
-
                 ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.in(memberIds))
+                .fetch();
+    }
+
+    //* 키셋 방식으로 다음 청크의 id 경계를 구함 (offset 없이 id 인덱스만 탄다)
+    @Override
+    public List<Long> findIdsByTeamAfter(Long teamId, Long afterMemberId, int limit) {
+        return queryFactory.named("MemberRepositoryImpl.findIdsByTeamAfter")
+                .select(member.id)
+                .from(member)
+                .where(
+                        member.team.id.eq(teamId),
+                        afterMemberId != null ? member.id.gt(afterMemberId) : null
+                )
+                .orderBy(member.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    //! bulk 연산이므로 영속성 컨텍스트를 거치지 않는다. 호출하는 쪽에서 반드시 정리할 것
+    @Override
+    public long addAgeByTeamInIdRange(Long teamId, Long fromMemberIdExclusive, Long toMemberIdInclusive, int delta) {
+        return queryFactory.named("MemberRepositoryImpl.addAgeByTeamInIdRange")
+                .update(member)
+                .set(member.age, member.age.add(delta))
+                .where(
+                        member.team.id.eq(teamId),
+                        fromMemberIdExclusive != null ? member.id.gt(fromMemberIdExclusive) : null,
+                        member.id.loe(toMemberIdInclusive)
+                )
+                .execute();
+    }
+
+    //* fetch plan 버전: 배치 로딩(MEMBER_WITH_TEAM_BATCH)이 같은 세션에서 팀을 채우도록 읽기 전용 트랜잭션으로 묶음
+    @Override
+    @Transactional(readOnly = true)
+    public List<Member> findAll(MemberFetchPlan plan) {
+        String method = "MemberRepositoryImpl.findAll";
+        return queryMetrics.recordFetchPlan(method, plan.getPlanName(),
+                () -> plan.fetch(queryFactory.named(method), getEntityManager(), null), List::size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Member> findById(Long id, MemberFetchPlan plan) {
+        String method = "MemberRepositoryImpl.findById";
+        return queryMetrics.recordFetchPlan(method, plan.getPlanName(),
+                () -> plan.fetch(queryFactory.named(method), getEntityManager(), member.id.eq(id)).stream().findFirst(),
+                found -> found.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Member> findByUsername(String username, MemberFetchPlan plan) {
+        String method = "MemberRepositoryImpl.findByUsername";
+        return queryMetrics.recordFetchPlan(method, plan.getPlanName(),
+                () -> plan.fetch(queryFactory.named(method), getEntityManager(), member.username.eq(username)), List::size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Member> findAll(Predicate predicate, MemberFetchPlan plan) {
+        String method = "MemberRepositoryImpl.findAll";
+        return queryMetrics.recordFetchPlan(method, plan.getPlanName(),
+                () -> plan.fetch(queryFactory.named(method), getEntityManager(), predicate), List::size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Member> findAll(Predicate predicate, Pageable pageable, MemberFetchPlan plan) {
+        String method = "MemberRepositoryImpl.findAll";
+        JPAQueryFactory queries = queryFactory.named(method);
+        return queryMetrics.recordFetchPlan(method, plan.getPlanName(), () -> {
+            List<Member> contents = plan.fetchPage(queries, getEntityManager(), predicate, pageable,
+                    orderSpecifiers(pageable.getSort()), isSortedByTeam(pageable.getSort()));
+            //* member -> team은 다대일 left join이라 row 수를 바꾸지 않음: predicate가 team 별칭을 쓸 때만 조인 (content 쿼리와 같은 기준)
+            JPAQuery<Long> countQuery = queries
+                    .select(member.count())
+                    .from(member);
+            if (MemberFetchPlan.referencesTeam(predicate)) {
+                countQuery.leftJoin(member.team, team);
+            }
+            countQuery.where(predicate);
+            return PageableExecutionUtils.getPage(contents, pageable, countQuery::fetchOne);
+        }, page -> page.getNumberOfElements());
+    }
+
+    private List<MemberTeamDto> getMemberTeamDtos(JPAQueryFactory queries, MemberSearchCondition condition, Pageable pageable) {
+        return pageQuery(queries, condition, pageable).fetch();
+    }
+
+    private JPAQuery<MemberTeamDto> pageQuery(JPAQueryFactory queries, MemberSearchCondition condition, Pageable pageable) {
+        // dto로 성능 최적화
+        return pageRowQuery(queries, condition, pageable).select(memberTeamDto());
+    }
+
+    private static QMemberTeamDto memberTeamDto() {
+        return new QMemberTeamDto(
+                member.id.as("memberId"),
+                member.username,
+                member.age,
+                team.id.as("teamId"),
+                team.name.as("teamName")
+        );
+    }
+
+    //? select 없이 조인/조건/정렬/페이징까지만 만든 쿼리 (DTO만 또는 DTO + 전체 건수로 select)
+    private JPAQuery<?> pageRowQuery(JPAQueryFactory queries, MemberSearchCondition condition, Pageable pageable) {
+        return queries
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(
@@ -120,9 +374,77 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                         ageLoe(condition.getAgeLoe())
 
                 )
+                .orderBy(orderSpecifiers(pageable.getSort()))
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize()) // 1 페이지당 몇개를 가져온다
-                .fetch();
+                .limit(pageable.getPageSize()); // 1 페이지당 몇개를 가져온다
+    }
+
+    private List<MemberTeamDto> getMemberTeamDtosByDeferredJoin(JPAQueryFactory queries, MemberSearchCondition condition,
+                                                                Pageable pageable) {
+        return searchByIdsInOrder(queries, searchPageIds(queries, condition, pageable));
+    }
+
+    // 1. 좁은 쿼리: 조건/정렬 인덱스만으로 해당 페이지의 id만 구함 (team 조건/정렬이 없으면 조인도 생략)
+    private JPAQuery<?> pageIdQuery(JPAQueryFactory queries, MemberSearchCondition condition, Pageable pageable) {
+        JPAQuery<?> idQuery = queries.from(member);
+        if (filtersByTeam(condition) || isSortedByTeam(pageable.getSort())) {
+            idQuery.leftJoin(member.team, team);
+        }
+        return idQuery
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .orderBy(orderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize());
+    }
+
+    // 2. 페이지에 해당하는 id만 team 조인 + DTO 프로젝션, 순서는 1번 결과를 따름
+    @Override
+    public List<MemberTeamDto> searchByIdsInOrder(List<Long> memberIds) {
+        return searchByIdsInOrder(queryFactory.named("MemberRepositoryImpl.searchByIdsInOrder"), memberIds);
+    }
+
+    private List<MemberTeamDto> searchByIdsInOrder(JPAQueryFactory queries, List<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < memberIds.size(); i++) {
+            positions.put(memberIds.get(i), i);
+        }
+        List<MemberTeamDto> contents = new ArrayList<>(searchByIds(queries, memberIds));
+        contents.sort(Comparator.comparing(dto -> positions.get(dto.getMemberId())));
+        return contents;
+    }
+
+    private boolean isSortedByTeam(Sort sort) {
+        return sort.stream().anyMatch(order -> SORTABLE_PATHS.get(order.getProperty()) == team.name);
+    }
+
+    //* 값이 같은 row끼리 페이지마다 순서가 바뀌지 않도록 항상 member.id를 마지막 정렬 기준으로 붙인다
+    private OrderSpecifier<?>[] orderSpecifiers(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        boolean orderedById = false;
+        for (Sort.Order order : sort) {
+            ComparableExpressionBase<?> path = SORTABLE_PATHS.get(order.getProperty());
+            if (path == null) {
+                throw new InvalidSortPropertyException(order.getProperty());
+            }
+            orders.add(order.isAscending() ? path.asc() : path.desc());
+            if (path == member.id) {
+                orderedById = true;
+                break; // id는 유일하므로 뒤의 정렬 조건은 의미 없음
+            }
+        }
+        if (!orderedById) {
+            orders.add(new OrderSpecifier<>(Order.ASC, member.id));
+        }
+        return orders.toArray(OrderSpecifier[]::new);
     }
 
     private BooleanExpression usernameEq(String username) {
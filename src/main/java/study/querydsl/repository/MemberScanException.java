@@ -0,0 +1,15 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+
+//* 스캔 도중 실패했을 때 마지막으로 처리 완료된 id를 담아서 그 이후부터 재시작할 수 있게 함
+@Getter
+public class MemberScanException extends RuntimeException {
+
+    private final Long lastMemberId;
+
+    public MemberScanException(Long lastMemberId, Throwable cause) {
+        super("member 스캔 실패. lastMemberId=" + lastMemberId, cause);
+        this.lastMemberId = lastMemberId;
+    }
+}
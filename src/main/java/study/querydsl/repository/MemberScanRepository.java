@@ -0,0 +1,82 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.ScanResult;
+import study.querydsl.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+//* 전체 회원 순회용 (배치 컨슈머가 findAll() 대신 사용)
+//? StatelessSession은 영속성 컨텍스트(1차 캐시)가 없어서 읽은 엔티티를 쌓아두지 않으므로 테이블 크기와 상관없이 메모리가 일정
+//! 조회한 엔티티는 영속 상태가 아니므로 지연 로딩 불가 → team이 필요하면 withTeam = true (fetch join)
+//! Spring 트랜잭션과 무관하게 커넥션을 따로 얻어 읽는다
+@Repository
+public class MemberScanRepository {
+
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private final SessionFactory sessionFactory;
+
+    public MemberScanRepository(EntityManagerFactory emf) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+    }
+
+    public ScanResult scan(Long afterMemberId, boolean withTeam, Consumer<Member> callback) {
+        return scanChunks(afterMemberId, 1, withTeam, chunk -> callback.accept(chunk.get(0)));
+    }
+
+    //* 콜백이 끝난 청크까지만 처리 완료로 보고, 실패 시 MemberScanException.lastMemberId로 재시작
+    public ScanResult scanChunks(Long afterMemberId, int chunkSize, boolean withTeam, Consumer<List<Member>> callback) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다. chunkSize=" + chunkSize);
+        }
+        String jpql = "select m from Member m"
+                + (withTeam ? " left join fetch m.team" : "")
+                + " where m.id > :afterMemberId order by m.id";
+
+        long scanned = 0;
+        Long lastMemberId = afterMemberId;
+        List<Member> chunk = new ArrayList<>(chunkSize);
+
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             ScrollableResults<Member> results = session.createSelectionQuery(jpql, Member.class)
+                     .setParameter("afterMemberId", afterMemberId != null ? afterMemberId : Long.MIN_VALUE)
+                     .setFetchSize(Math.max(chunkSize, DEFAULT_FETCH_SIZE))
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                chunk.add(results.get());
+                if (chunk.size() == chunkSize) {
+                    lastMemberId = accept(callback, chunk, lastMemberId);
+                    scanned += chunk.size();
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                lastMemberId = accept(callback, chunk, lastMemberId);
+                scanned += chunk.size();
+            }
+        } catch (MemberScanException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new MemberScanException(lastMemberId, e);
+        }
+        return new ScanResult(scanned, lastMemberId);
+    }
+
+    private Long accept(Consumer<List<Member>> callback, List<Member> chunk, Long lastMemberId) {
+        try {
+            callback.accept(List.copyOf(chunk));
+        } catch (RuntimeException e) {
+            throw new MemberScanException(lastMemberId, e);
+        }
+        return chunk.get(chunk.size() - 1).getId();
+    }
+}
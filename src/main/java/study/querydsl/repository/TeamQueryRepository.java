@@ -0,0 +1,114 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.QTeamDto;
+import study.querydsl.dto.QTeamMemberCountMismatch;
+import study.querydsl.dto.TeamDto;
+import study.querydsl.dto.TeamMemberCountMismatch;
+import study.querydsl.dto.TeamSearchCondition;
+import study.querydsl.support.InstrumentedJPAQueryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@Repository
+@RequiredArgsConstructor
+public class TeamQueryRepository {
+
+    //! 인덱스가 있는 경로로만 정렬 허용 (Team의 @Table(indexes) 참고)
+    private static final Map<String, ComparableExpressionBase<?>> SORTABLE_PATHS = Map.of(
+            "teamId", team.id,
+            "id", team.id,
+            "name", team.name,
+            "memberCount", team.memberCount
+    );
+
+    private final InstrumentedJPAQueryFactory queryFactory;
+
+    //* 비정규화된 member_count만 읽으므로 member 테이블을 count 하거나 members 컬렉션을 초기화하지 않음
+    public Page<TeamDto> search(TeamSearchCondition condition, Pageable pageable) {
+        JPAQueryFactory queries = queryFactory.named("TeamQueryRepository.search");
+        List<TeamDto> contents = queries
+                .select(new QTeamDto(team.id, team.name, team.memberCount))
+                .from(team)
+                .where(
+                        nameEq(condition.getName()),
+                        memberCountGoe(condition.getMemberCountGoe()),
+                        memberCountLoe(condition.getMemberCountLoe())
+                )
+                .orderBy(orderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        JPAQuery<Long> countQuery = queries
+                .select(team.count())
+                .from(team)
+                .where(
+                        nameEq(condition.getName()),
+                        memberCountGoe(condition.getMemberCountGoe()),
+                        memberCountLoe(condition.getMemberCountLoe())
+                );
+
+        return PageableExecutionUtils.getPage(contents, pageable, countQuery::fetchOne);
+    }
+
+    //* member_count와 실제 소속 회원 수가 다른 팀 (정합성 점검용)
+    public List<TeamMemberCountMismatch> findMemberCountMismatches() {
+        return queryFactory.named("TeamQueryRepository.findMemberCountMismatches")
+                .select(new QTeamMemberCountMismatch(team.id, team.memberCount, member.count()))
+                .from(team)
+                .leftJoin(team.members, member)
+                .groupBy(team.id, team.memberCount)
+                .having(member.count().ne(team.memberCount))
+                .fetch();
+    }
+
+    private OrderSpecifier<?>[] orderSpecifiers(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        boolean orderedById = false;
+        for (Sort.Order order : sort) {
+            ComparableExpressionBase<?> path = SORTABLE_PATHS.get(order.getProperty());
+            if (path == null) {
+                throw new InvalidSortPropertyException(order.getProperty());
+            }
+            orders.add(order.isAscending() ? path.asc() : path.desc());
+            if (path == team.id) {
+                orderedById = true;
+                break;
+            }
+        }
+        if (!orderedById) {
+            orders.add(new OrderSpecifier<>(Order.ASC, team.id));
+        }
+        return orders.toArray(OrderSpecifier[]::new);
+    }
+
+    private BooleanExpression nameEq(String name) {
+        return hasText(name) ? team.name.eq(name) : null;
+    }
+
+    private BooleanExpression memberCountGoe(Long memberCountGoe) {
+        return memberCountGoe != null ? team.memberCount.goe(memberCountGoe) : null;
+    }
+
+    private BooleanExpression memberCountLoe(Long memberCountLoe) {
+        return memberCountLoe != null ? team.memberCount.loe(memberCountLoe) : null;
+    }
+}
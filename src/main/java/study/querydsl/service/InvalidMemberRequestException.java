@@ -0,0 +1,9 @@
+package study.querydsl.service;
+
+//* 회원 생성 요청 값이 잘못됨 (큐에 넣기 전 검증, 또는 저장 직전 팀 존재 여부 확인)
+public class InvalidMemberRequestException extends RuntimeException {
+
+    public InvalidMemberRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,72 @@
+package study.querydsl.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.BulkUpdateResult;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.support.InvalidOptionException;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+public class MemberBulkUpdateService {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public MemberBulkUpdateService(MemberRepository memberRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkUpdateResult incrementAgeByTeam(Long teamId, int delta, int chunkSize, Long afterMemberId,
+                                               Consumer<BulkUpdateResult> progressListener) {
+        //! 청크마다 커밋해야 락 점유 시간이 짧아진다. 바깥 트랜잭션에 묶이면 결국 하나의 큰 트랜잭션이 되어버림
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("청크 단위 bulk 연산은 트랜잭션 밖에서 호출해야 합니다.");
+        }
+        if (chunkSize <= 0) {
+            throw new InvalidOptionException("chunkSize는 1 이상이어야 합니다. chunkSize=" + chunkSize);
+        }
+
+        long totalUpdated = 0;
+        int chunks = 0;
+        Long lastMemberId = afterMemberId;
+
+        while (true) {
+            Long from = lastMemberId;
+            long[] updated = new long[1];
+            List<Long> memberIds = transactionTemplate.execute(status -> {
+                List<Long> ids = memberRepository.findIdsByTeamAfter(teamId, from, chunkSize);
+                if (!ids.isEmpty()) {
+                    //? 2차 캐시는 설정돼 있지 않음. 켜더라도 Hibernate가 bulk UPDATE 실행 시 Member 캐시 영역을 비우므로 따로 evict할 필요 없음
+                    updated[0] = memberRepository.addAgeByTeamInIdRange(teamId, from, ids.get(ids.size() - 1), delta);
+                }
+                return ids;
+            });
+            if (memberIds == null || memberIds.isEmpty()) {
+                break;
+            }
+
+            totalUpdated += updated[0];
+            chunks++;
+            lastMemberId = memberIds.get(memberIds.size() - 1);
+
+            BulkUpdateResult progress = new BulkUpdateResult(totalUpdated, chunks, lastMemberId);
+            log.info("bulk update progress teamId={} {}", teamId, progress);
+            if (progressListener != null) {
+                progressListener.accept(progress);
+            }
+        }
+
+        return new BulkUpdateResult(totalUpdated, chunks, lastMemberId);
+    }
+}
@@ -0,0 +1,72 @@
+package study.querydsl.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class MemberLookupService {
+
+    //* 2의 거듭제곱으로 잡아야 hibernate.query.in_clause_parameter_padding 으로 패딩된 청크와 크기가 맞는다
+    public static final int MAX_CHUNK_SIZE = 1024;
+
+    private final MemberRepository memberRepository;
+    private final ThreadPoolTaskExecutor executor;
+
+    public MemberLookupService(MemberRepository memberRepository,
+                               @Qualifier("memberLookupExecutor") ThreadPoolTaskExecutor executor) {
+        this.memberRepository = memberRepository;
+        this.executor = executor;
+    }
+
+    public List<MemberTeamDto> findByIds(List<Long> memberIds) {
+        List<List<Long>> chunks = chunk(memberIds);
+
+        Map<Long, MemberTeamDto> found = new HashMap<>();
+        //! 트랜잭션 안에서 호출되면 다른 스레드는 아직 커밋되지 않은 데이터를 볼 수 없으므로 현재 스레드에서 순차 실행
+        if (chunks.size() == 1 || TransactionSynchronizationManager.isActualTransactionActive()) {
+            for (List<Long> chunk : chunks) {
+                memberRepository.searchByIds(chunk).forEach(dto -> found.put(dto.getMemberId(), dto));
+            }
+        } else {
+            List<CompletableFuture<List<MemberTeamDto>>> futures = chunks.stream()
+                    .map(chunk -> CompletableFuture.supplyAsync(() -> memberRepository.searchByIds(chunk), executor))
+                    .toList();
+            for (CompletableFuture<List<MemberTeamDto>> future : futures) {
+                future.join().forEach(dto -> found.put(dto.getMemberId(), dto));
+            }
+        }
+
+        // 입력 순서 유지, 없는 id는 건너뜀
+        List<MemberTeamDto> result = new ArrayList<>(memberIds.size());
+        for (Long memberId : memberIds) {
+            MemberTeamDto dto = memberId != null ? found.get(memberId) : null;
+            if (dto != null) {
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
+    static List<List<Long>> chunk(List<Long> memberIds) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(memberIds));
+        distinctIds.removeIf(Objects::isNull);
+
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_CHUNK_SIZE) {
+            chunks.add(distinctIds.subList(from, Math.min(from + MAX_CHUNK_SIZE, distinctIds.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,8 @@
+package study.querydsl.service;
+
+public class MemberNotFoundException extends RuntimeException {
+
+    public MemberNotFoundException(Long memberId) {
+        super("회원이 존재하지 않습니다. memberId=" + memberId);
+    }
+}
@@ -0,0 +1,83 @@
+package study.querydsl.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberPage;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+//* /v3/members: MemberPage 모양의 작은 페이지 응답
+//  - 작은 페이지는 리스트로 조회한 뒤 컨트롤러가 Accept에 맞는 ObjectMapper로 한 번에 씀
+//  - 큰 페이지는 id만 먼저 구하고(deferred join 1단계) CHUNK_SIZE 건씩 짧은 읽기 트랜잭션으로 읽어서 청크마다 응답에 씀
+//! 소켓에 쓰는 동안에는 커넥션을 잡고 있지 않음 (느린 클라이언트가 v3 시간 제한 내내 커넥션을 붙잡지 않도록)
+@Service
+public class MemberPageService {
+
+    //! 스프링 데이터 기본 max-page-size(2000)까지는 요청 가능, 이 값을 넘으면 청크로 나눠 씀
+    public static final int STREAMING_THRESHOLD = 500;
+    static final int CHUNK_SIZE = 500;
+
+    private final MemberRepository memberRepository;
+    private final MemberSearchCoalescer memberSearchCoalescer;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public MemberPageService(MemberRepository memberRepository, MemberSearchCoalescer memberSearchCoalescer,
+                             PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.memberSearchCoalescer = memberSearchCoalescer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isStreamed(Pageable pageable) {
+        return pageable.getPageSize() > STREAMING_THRESHOLD;
+    }
+
+    public MemberPage page(MemberSearchCondition condition, Pageable pageable) {
+        return MemberPage.of(memberSearchCoalescer.searchPageSimple(condition, pageable));
+    }
+
+    //* content를 먼저 쓰고 totalElements는 마지막에 씀 (PageableExecutionUtils처럼 마지막 페이지면 count 쿼리 생략)
+    //? 청크 사이에 지워진 회원은 빠지고, 전체 건수는 id 목록 기준
+    public void streamPage(MemberSearchCondition condition, Pageable pageable, ObjectMapper mapper, OutputStream out) {
+        List<Long> ids = readOnlyTransaction.execute(status -> memberRepository.searchPageIds(condition, pageable));
+        //! row마다 flush 하면 write 시스템 콜이 row 수만큼 생기므로 끄고 제너레이터 버퍼 단위로 내보냄
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("content");
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                List<MemberTeamDto> rows = readOnlyTransaction.execute(status -> memberRepository.searchByIdsInOrder(chunk));
+                for (MemberTeamDto row : rows) {
+                    writer.writeValue(generator, row);
+                }
+                generator.flush();
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("page", pageable.getPageNumber());
+            generator.writeNumberField("size", pageable.getPageSize());
+            long read = ids.size();
+            boolean lastPage = read < pageable.getPageSize() && (pageable.getOffset() == 0 || read > 0);
+            generator.writeNumberField("totalElements", lastPage
+                    ? pageable.getOffset() + read
+                    : readOnlyTransaction.execute(status -> memberRepository.searchCount(condition)));
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
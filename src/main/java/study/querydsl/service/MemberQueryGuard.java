@@ -0,0 +1,201 @@
+package study.querydsl.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import study.querydsl.support.ClientConnection;
+import study.querydsl.support.QueryDeadline;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+//* 검색 엔드포인트별 쿼리 시간 제한 + 클라이언트 연결이 끊기면 실행 중인 쿼리 취소
+//  - 검색은 member-query- 풀에서 실행하고 요청은 DeferredResult로 비동기 처리
+//  - 응답 시간 제한(endpoint timeout)이 지나거나 클라이언트가 연결을 끊으면 실행 중인 statement를 취소해서
+//    커넥션을 바로 풀에 돌려줌
+//! 비동기 요청이 쉬는 동안 Tomcat은 끊김을 알려주지 않으므로(AsyncListener.onError는 다음 쓰기 때나 옴)
+//  검색이 도는 동안 disconnect-poll-ms 마다 연결을 직접 확인 (ClientConnection)
+@Slf4j
+@Service
+public class MemberQueryGuard {
+
+    public static final String REQUESTS_ABORTED = "member.query.requests.aborted";
+
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Duration> timeouts;
+    private final long disconnectPollMillis;
+    private final Map<AbortKey, Counter> abortCounters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService disconnectWatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "member-query-disconnect-watch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MemberQueryGuard(@Qualifier("memberQueryExecutor") ThreadPoolTaskExecutor executor,
+                            MeterRegistry meterRegistry,
+                            @Value("${member.query-timeout.v1-ms:3000}") long v1TimeoutMillis,
+                            @Value("${member.query-timeout.v2-ms:2000}") long v2TimeoutMillis,
+                            @Value("${member.query-timeout.v3-ms:30000}") long v3TimeoutMillis,
+                            @Value("${member.query-timeout.disconnect-poll-ms:200}") long disconnectPollMillis) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.timeouts = Map.of(
+                "v1", Duration.ofMillis(v1TimeoutMillis),
+                "v2", Duration.ofMillis(v2TimeoutMillis),
+                "v3", Duration.ofMillis(v3TimeoutMillis));
+        this.disconnectPollMillis = disconnectPollMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        disconnectWatcher.shutdownNow();
+    }
+
+    public Duration timeout(String endpoint) {
+        Duration timeout = timeouts.get(endpoint);
+        if (timeout == null) {
+            throw new IllegalArgumentException("unknown endpoint: " + endpoint);
+        }
+        return timeout;
+    }
+
+    public QueryDeadline deadline(String endpoint) {
+        return QueryDeadline.start(endpoint, timeout(endpoint));
+    }
+
+    public <T> DeferredResult<T> submit(String endpoint, Supplier<T> search) {
+        Duration timeout = timeout(endpoint);
+        QueryDeadline deadline = QueryDeadline.start(endpoint, timeout);
+        DeferredResult<T> result = new DeferredResult<>(timeout.toMillis());
+        DisconnectWatch watch = new DisconnectWatch(endpoint, deadline, currentRequest());
+
+        result.onTimeout(() -> {
+            watch.stop();
+            if (watch.abort("timeout")) {
+                result.setErrorResult(new QueryTimeoutException(endpoint + " search exceeded " + timeout.toMillis() + " ms"));
+            }
+        });
+        result.onError(e -> {
+            //? 클라이언트가 끊고 나간 경우: 응답은 못 보내므로 쿼리만 취소
+            log.debug("client disconnected, cancelling {} search: {}", endpoint, e.toString());
+            watch.stop();
+            watch.abort("disconnected");
+        });
+        result.onCompletion(watch::stop);
+
+        watch.start();
+        try {
+            executor.execute(() -> {
+                if (deadline.isCancelled()) {
+                    watch.stop();
+                    return;
+                }
+                T value;
+                try {
+                    value = deadline.call(search);
+                } catch (RuntimeException e) {
+                    watch.stop();
+                    result.setErrorResult(e);
+                    return;
+                }
+                //! 결과를 넘기면 컨테이너 스레드가 응답을 쓰므로 그 전에 폴링을 멈춤
+                watch.stop();
+                result.setResult(value);
+            });
+        } catch (RuntimeException e) {
+            watch.stop();
+            throw e;
+        }
+        return result;
+    }
+
+    public void aborted(String endpoint, String reason) {
+        abortCounters.computeIfAbsent(new AbortKey(endpoint, reason), key -> Counter.builder(REQUESTS_ABORTED)
+                        .tags("endpoint", key.endpoint(), "reason", key.reason())
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private record AbortKey(String endpoint, String reason) {
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest() : null;
+    }
+
+    //* 요청 하나의 끊김 감시: 취소(timeout/disconnected)는 한 번만 기록
+    private final class DisconnectWatch {
+
+        private final String endpoint;
+        private final QueryDeadline deadline;
+        private final HttpServletRequest request;
+        private final AtomicBoolean aborted = new AtomicBoolean();
+        private ScheduledFuture<?> polling;
+        private boolean stopped;
+
+        DisconnectWatch(String endpoint, QueryDeadline deadline, HttpServletRequest request) {
+            this.endpoint = endpoint;
+            this.deadline = deadline;
+            this.request = request;
+        }
+
+        synchronized void start() {
+            if (request != null && !stopped) {
+                polling = disconnectWatcher.scheduleWithFixedDelay(this::poll,
+                        disconnectPollMillis, disconnectPollMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        //! stop()과 같은 락: stop()이 돌아온 뒤에는 소켓을 읽지 않음
+        private synchronized void poll() {
+            if (stopped) {
+                return;
+            }
+            try {
+                if (ClientConnection.isClosed(request)) {
+                    log.debug("client disconnected, cancelling {} search", endpoint);
+                    stop();
+                    abort("disconnected");
+                }
+            } catch (RuntimeException e) {
+                log.debug("disconnect check failed, stop watching {} search", endpoint, e);
+                stop();
+            }
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            if (polling != null) {
+                polling.cancel(false);
+            }
+        }
+
+        boolean abort(String reason) {
+            if (!aborted.compareAndSet(false, true)) {
+                return false;
+            }
+            aborted(endpoint, reason);
+            deadline.cancel();
+            return true;
+        }
+    }
+}
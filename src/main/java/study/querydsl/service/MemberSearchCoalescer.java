@@ -0,0 +1,73 @@
+package study.querydsl.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchResult;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.support.QueryDeadline;
+import study.querydsl.support.SingleFlight;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+//* 피크 때 같은 조건(+같은 페이지)으로 동시에 들어오는 검색을 한 번만 실행하고 결과를 나눠 줌
+//? 효과: GET /admin/search-coalescing 또는 single_flight_calls_total{result="joined"} = 실행하지 않은 검색 수
+//! 호출자 트랜잭션 안에서는 합류하지 않음 (커밋 전 데이터가 보이는 범위가 다르고, 기다리는 동안 커넥션을 붙잡게 됨)
+@Service
+public class MemberSearchCoalescer {
+
+    private final MemberSearchService memberSearchService;
+    private final MemberRepository memberRepository;
+    private final boolean enabled;
+    private final SingleFlight<SearchKey, MemberSearchResult> searches;
+    private final SingleFlight<SearchKey, Page<MemberTeamDto>> pages;
+
+    public MemberSearchCoalescer(MemberSearchService memberSearchService,
+                                 MemberRepository memberRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${member.search.coalescing.enabled:true}") boolean enabled,
+                                 @Value("${member.search.coalescing.timeout-ms:2000}") long timeoutMillis) {
+        this.memberSearchService = memberSearchService;
+        this.memberRepository = memberRepository;
+        this.enabled = enabled;
+        this.searches = new SingleFlight<>("member.search", Duration.ofMillis(timeoutMillis), meterRegistry);
+        this.pages = new SingleFlight<>("member.search.page", Duration.ofMillis(timeoutMillis), meterRegistry);
+    }
+
+    public MemberSearchResult search(MemberSearchCondition condition) {
+        return coalesce(searches, SearchKey.of(condition, null), () -> memberSearchService.search(condition));
+    }
+
+    public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        return coalesce(pages, SearchKey.of(condition, pageable), () -> memberRepository.searchPageSimple(condition, pageable));
+    }
+
+    public SingleFlight.Stats searchStats() {
+        return searches.stats();
+    }
+
+    public SingleFlight.Stats pageStats() {
+        return pages.stats();
+    }
+
+    private <V> V coalesce(SingleFlight<SearchKey, V> flight, SearchKey key, Supplier<V> loader) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        return flight.execute(key, () -> QueryDeadline.translateCancellation(loader));
+    }
+
+    //* MemberSearchCondition은 @Data(가변)라서 키로 쓰지 않고 값을 복사해 둠
+    record SearchKey(String username, String teamName, Integer ageGoe, Integer ageLoe, Pageable pageable) {
+
+        static SearchKey of(MemberSearchCondition condition, Pageable pageable) {
+            return new SearchKey(condition.getUsername(), condition.getTeamName(), condition.getAgeGoe(), condition.getAgeLoe(), pageable);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package study.querydsl.service;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.QueryCost;
+import study.querydsl.support.InstrumentedJPAQueryFactory;
+
+import java.time.Clock;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+//* MemberSearchCondition에 어떤 필터가 있는지 + 인덱스 + 테이블 통계로 읽을 row/반환할 row 수를 추정
+//? 통계는 statsTtl 동안 캐시 (요청마다 count 쿼리를 날리지 않도록)
+@Component
+public class MemberSearchCostEstimator {
+
+    private final InstrumentedJPAQueryFactory queryFactory;
+    private final long statsTtlMillis;
+    private final Clock clock;
+
+    private volatile Statistics statistics;
+
+    public MemberSearchCostEstimator(InstrumentedJPAQueryFactory queryFactory,
+                                     @Value("${member.search.stats-ttl-ms:60000}") long statsTtlMillis) {
+        this.queryFactory = queryFactory;
+        this.statsTtlMillis = statsTtlMillis;
+        this.clock = Clock.systemUTC();
+    }
+
+    public QueryCost estimate(MemberSearchCondition condition) {
+        Statistics stats = statistics();
+        double rows = stats.memberCount();
+        long scanned = stats.memberCount();
+        String access = "full-scan";
+
+        //! 인덱스 선택 우선순위: username(거의 유일) > team > age 범위 (Member/Team의 @Table(indexes) 참고)
+        if (hasText(condition.getUsername())) {
+            rows = Math.min(rows, 1);
+            scanned = 1;
+            access = "idx_member_username";
+        }
+        if (hasText(condition.getTeamName())) {
+            rows /= Math.max(1, stats.teamCount());
+            if (access.equals("full-scan")) {
+                scanned = (long) Math.ceil(rows);
+                access = "idx_team_name+idx_member_team";
+            }
+        }
+        if (condition.getAgeGoe() != null || condition.getAgeLoe() != null) {
+            int from = condition.getAgeGoe() != null ? Math.max(condition.getAgeGoe(), stats.minAge()) : stats.minAge();
+            int to = condition.getAgeLoe() != null ? Math.min(condition.getAgeLoe(), stats.maxAge()) : stats.maxAge();
+            // 나이는 min~max에 고르게 분포한다고 가정
+            double selectivity = Math.max(0, to - from + 1) / (double) Math.max(1, stats.maxAge() - stats.minAge() + 1);
+            rows *= selectivity;
+            if (access.equals("full-scan")) {
+                scanned = (long) Math.ceil(stats.memberCount() * selectivity);
+                access = "idx_member_age";
+            }
+        }
+        return new QueryCost(access, scanned, (long) Math.ceil(rows));
+    }
+
+    private Statistics statistics() {
+        Statistics current = statistics;
+        long now = clock.millis();
+        if (current == null || now - current.collectedAt() > statsTtlMillis) {
+            JPAQueryFactory queries = queryFactory.named("MemberSearchCostEstimator.statistics");
+            Tuple memberStats = queries
+                    .select(member.count(), member.age.min(), member.age.max())
+                    .from(member)
+                    .fetchOne();
+            Long teamCount = queries
+                    .select(team.count())
+                    .from(team)
+                    .fetchOne();
+            current = new Statistics(
+                    memberStats.get(member.count()),
+                    teamCount != null ? teamCount : 0,
+                    valueOrZero(memberStats.get(member.age.min())),
+                    valueOrZero(memberStats.get(member.age.max())),
+                    now);
+            statistics = current;
+        }
+        return current;
+    }
+
+    private int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private record Statistics(long memberCount, long teamCount, int minAge, int maxAge, long collectedAt) {
+    }
+}
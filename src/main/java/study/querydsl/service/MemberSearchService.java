@@ -0,0 +1,67 @@
+package study.querydsl.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchResult;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QueryCost;
+import study.querydsl.repository.MemberJpaRepository;
+
+import java.util.List;
+
+//* 비페이징 검색(/v1/members) 비용 기반 수용 제어
+//? 예상 비용이 예산을 넘으면 over-budget 정책에 따라 거절(reject)하거나 maxResultRows 건까지만 잘라서(cap) 응답
+@Slf4j
+@Service
+public class MemberSearchService {
+
+    public enum OverBudgetPolicy {
+        REJECT, CAP
+    }
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberSearchCostEstimator costEstimator;
+    private final long maxScannedRows;
+    private final long maxResultRows;
+    private final OverBudgetPolicy overBudgetPolicy;
+
+    public MemberSearchService(MemberJpaRepository memberJpaRepository,
+                               MemberSearchCostEstimator costEstimator,
+                               @Value("${member.search.max-scanned-rows:100000}") long maxScannedRows,
+                               @Value("${member.search.max-result-rows:10000}") long maxResultRows,
+                               @Value("${member.search.over-budget:CAP}") OverBudgetPolicy overBudgetPolicy) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.costEstimator = costEstimator;
+        this.maxScannedRows = maxScannedRows;
+        this.maxResultRows = maxResultRows;
+        this.overBudgetPolicy = overBudgetPolicy;
+    }
+
+    public MemberSearchResult search(MemberSearchCondition condition) {
+        QueryCost cost = costEstimator.estimate(condition);
+        boolean overBudget = cost.getScannedRows() > maxScannedRows || cost.getResultRows() > maxResultRows;
+        if (overBudget && overBudgetPolicy == OverBudgetPolicy.REJECT) {
+            log.info("search rejected. condition={} estimated={}", condition, cost);
+            throw new SearchCostExceededException(cost);
+        }
+
+        long start = System.nanoTime();
+        //* cap: 한 건 더 읽어서 실제로 잘렸는지 판단
+        List<MemberTeamDto> contents = overBudget
+                ? memberJpaRepository.search(condition, maxResultRows + 1)
+                : memberJpaRepository.search(condition);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        boolean capped = overBudget && contents.size() > maxResultRows;
+        if (capped) {
+            contents = contents.subList(0, (int) maxResultRows);
+        }
+
+        // 추정치 보정용: 추정 row 수와 실제 row 수/소요 시간을 같이 남김
+        log.info("search cost. condition={} access={} estimatedScanned={} estimatedRows={} actualRows={} elapsedMs={} capped={}",
+                condition, cost.getAccess(), cost.getScannedRows(), cost.getResultRows(), contents.size(), elapsedMillis, capped);
+        return new MemberSearchResult(contents, cost, capped);
+    }
+}
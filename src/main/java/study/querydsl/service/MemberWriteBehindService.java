@@ -0,0 +1,209 @@
+package study.querydsl.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberCreateRequest;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+//* 회원 가입 요청을 큐에 모았다가 writer 스레드 하나가 여러 건을 한 트랜잭션(= 커밋/fsync 한 번)으로 저장
+//? INSERT는 hibernate.jdbc.batch_size 설정으로 JDBC batch로 묶여서 나간다
+//! 배치 커밋이 실패하면 한 건씩 다시 저장해서 문제가 된 요청만 실패시킴
+@Slf4j
+@Service
+public class MemberWriteBehindService {
+
+    //? member.username 컬럼 길이 (@Column 기본값)
+    private static final int MAX_USERNAME_LENGTH = 255;
+
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingMember> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public MemberWriteBehindService(EntityManager em,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${member.write-behind.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${member.write-behind.batch-size:100}") int batchSize,
+                                    @Value("${member.write-behind.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "member-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        //* writer가 끝난 뒤 큐에 남은 요청(종료와 경합한 submit 등)은 완료되지 않은 채 남지 않도록 실패시킴
+        List<PendingMember> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        RejectedExecutionException stopped = new RejectedExecutionException("member writer가 종료되었습니다.");
+        leftover.forEach(pending -> pending.future().completeExceptionally(stopped));
+    }
+
+    //! 큐가 가득 차면 offerTimeout 만큼만 기다리고 거절 (호출자에게 backpressure 전달)
+    public CompletableFuture<Long> submit(MemberCreateRequest request) {
+        validate(request);
+        if (!running) {
+            throw new RejectedExecutionException("member writer가 종료되었습니다.");
+        }
+        PendingMember pending = new PendingMember(request, new CompletableFuture<>());
+        try {
+            if (!queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("회원 생성 요청이 밀려 있습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("회원 생성 요청이 중단되었습니다.", e);
+        }
+        //? 넣는 사이에 종료됐으면 writer가 가져가지 못했을 수 있으므로 직접 빼서 거절 (이미 가져갔으면 writer가 완료시킴)
+        if (!running && queue.remove(pending)) {
+            throw new RejectedExecutionException("member writer가 종료되었습니다.");
+        }
+        return pending.future();
+    }
+
+    private static void validate(MemberCreateRequest request) {
+        if (request == null || !StringUtils.hasText(request.getUsername())) {
+            throw new InvalidMemberRequestException("username은 필수입니다.");
+        }
+        if (request.getUsername().length() > MAX_USERNAME_LENGTH) {
+            throw new InvalidMemberRequestException("username은 " + MAX_USERNAME_LENGTH + "자 이하여야 합니다.");
+        }
+        if (request.getAge() < 0) {
+            throw new InvalidMemberRequestException("age는 0 이상이어야 합니다.");
+        }
+        if (request.getTeamId() != null && request.getTeamId() <= 0) {
+            throw new InvalidMemberRequestException("teamId는 1 이상이어야 합니다.");
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingMember> batch = new ArrayList<>(batchSize);
+        // 종료 요청 후에도 큐에 남은 요청은 모두 저장하고 끝낸다
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMember first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                //* 이전 배치를 커밋하는 동안 쌓인 요청을 한 번에 가져감 (group commit)
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                //! Error로 writer 스레드가 죽으면 이후 요청이 모두 큐에서 멈추므로 이번 배치만 실패시키고 계속 돈다
+                log.error("member write-behind loop failed. size={}", batch.size(), e);
+                batch.forEach(pending -> pending.future().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingMember> batch) {
+        List<Saved> saved;
+        try {
+            saved = transactionTemplate.execute(status -> persist(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.warn("member write-behind failed. username={}", batch.get(0).request().getUsername(), e);
+                batch.get(0).future().completeExceptionally(e);
+                return;
+            }
+            //* 관련 없는 요청까지 같이 실패하지 않도록 한 건씩 다시 저장
+            log.warn("member write-behind batch failed, retrying one by one. size={}", batch.size(), e);
+            batch.forEach(pending -> write(List.of(pending)));
+            return;
+        }
+
+        // 커밋이 끝난 뒤에만 호출자에게 완료를 알림
+        saved.forEach(Saved::complete);
+    }
+
+    private List<Saved> persist(List<PendingMember> batch) {
+        Set<Long> teamIds = existingTeamIds(batch);
+        Map<Long, Team> teams = new HashMap<>();
+        List<Saved> saved = new ArrayList<>(batch.size());
+        for (PendingMember pending : batch) {
+            MemberCreateRequest request = pending.request();
+            Long teamId = request.getTeamId();
+            //? 없는 팀을 가리키는 요청은 FK 위반으로 배치 전체를 롤백시키기 전에 그 요청만 실패
+            if (teamId != null && !teamIds.contains(teamId)) {
+                saved.add(new Saved(pending, null, new InvalidMemberRequestException("존재하지 않는 팀입니다. teamId=" + teamId)));
+                continue;
+            }
+            Team team = teamId != null ? teams.computeIfAbsent(teamId, id -> em.getReference(Team.class, id)) : null;
+            Member member = new Member(request.getUsername(), request.getAge(), team);
+            em.persist(member);
+            saved.add(new Saved(pending, member, null));
+        }
+        return saved;
+    }
+
+    private Set<Long> existingTeamIds(List<PendingMember> batch) {
+        Set<Long> requested = new HashSet<>();
+        batch.stream()
+                .map(pending -> pending.request().getTeamId())
+                .filter(Objects::nonNull)
+                .forEach(requested::add);
+        if (requested.isEmpty()) {
+            return requested;
+        }
+        return new HashSet<>(em.createQuery("select t.id from Team t where t.id in :ids", Long.class)
+                .setParameter("ids", requested)
+                .getResultList());
+    }
+
+    private record PendingMember(MemberCreateRequest request, CompletableFuture<Long> future) {
+    }
+
+    private record Saved(PendingMember pending, Member member, RuntimeException failure) {
+
+        void complete() {
+            if (failure != null) {
+                pending.future().completeExceptionally(failure);
+            } else {
+                pending.future().complete(member.getId());
+            }
+        }
+    }
+}
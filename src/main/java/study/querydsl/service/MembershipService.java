@@ -0,0 +1,33 @@
+package study.querydsl.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+//* 팀 소속 변경 전용 API: Team은 프록시(getReference)로만 다뤄서 팀 row/members 컬렉션을 읽지 않는다
+//? 쿼리는 회원 조회 1번 + 커밋 시 member UPDATE(+ member_count 증감) 뿐이라 팀 크기와 무관
+@Service
+@RequiredArgsConstructor
+public class MembershipService {
+
+    private final EntityManager em;
+
+    @Transactional
+    public Long join(String username, int age, Long teamId) {
+        Member member = new Member(username, age, teamId != null ? em.getReference(Team.class, teamId) : null);
+        em.persist(member);
+        return member.getId();
+    }
+
+    @Transactional
+    public void moveTeam(Long memberId, Long teamId) {
+        Member member = em.find(Member.class, memberId);
+        if (member == null) {
+            throw new MemberNotFoundException(memberId);
+        }
+        member.changeTeam(teamId != null ? em.getReference(Team.class, teamId) : null);
+    }
+}
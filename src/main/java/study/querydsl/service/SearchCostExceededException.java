@@ -0,0 +1,17 @@
+package study.querydsl.service;
+
+import lombok.Getter;
+import study.querydsl.dto.QueryCost;
+
+@Getter
+public class SearchCostExceededException extends RuntimeException {
+
+    private final QueryCost estimatedCost;
+
+    public SearchCostExceededException(QueryCost estimatedCost) {
+        super("검색 조건이 너무 넓습니다. 필터(username, teamName, age)를 추가하거나 페이징 API(/v2/members)를 사용하세요. "
+                + "estimatedScannedRows=" + estimatedCost.getScannedRows()
+                + ", estimatedResultRows=" + estimatedCost.getResultRows());
+        this.estimatedCost = estimatedCost;
+    }
+}
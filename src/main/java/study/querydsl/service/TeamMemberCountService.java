@@ -0,0 +1,44 @@
+package study.querydsl.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.TeamMemberCountMismatch;
+import study.querydsl.repository.TeamQueryRepository;
+
+import java.util.List;
+
+//* Team.memberCount 정합성 점검/재계산 (MemberBulkRepository를 거치지 않은 bulk 연산 후나 장애 복구 시 사용)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TeamMemberCountService {
+
+    private final EntityManager em;
+    private final TeamQueryRepository teamQueryRepository;
+
+    @Transactional(readOnly = true)
+    public List<TeamMemberCountMismatch> findMismatches() {
+        return teamQueryRepository.findMemberCountMismatches();
+    }
+
+    //! member_count는 updatable = false 컬럼이라 JPQL 대신 네이티브 쿼리로 갱신
+    @Transactional
+    public int rebuildAll() {
+        int updated = em.createNativeQuery(
+                        "update team t set member_count = (select count(*) from member m where m.team_id = t.team_id)")
+                .executeUpdate();
+        log.info("rebuilt team member_count. teams={}", updated);
+        return updated;
+    }
+
+    @Transactional
+    public int rebuild(Long teamId) {
+        return em.createNativeQuery(
+                        "update team t set member_count = (select count(*) from member m where m.team_id = t.team_id) where t.team_id = ?")
+                .setParameter(1, teamId)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,54 @@
+package study.querydsl.support;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.apache.coyote.ActionCode;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//* 요청을 보낸 클라이언트 연결이 아직 살아있는지 확인 (Tomcat 전용)
+//  - 비동기 요청이 쉬는 동안 Tomcat은 소켓 읽기를 등록하지 않아서, 클라이언트가 끊어도 앱이 다음에 쓰기 전까지는 모름
+//    (AsyncListener.onError도 그때서야 호출됨)
+//  - 그래서 쿼리가 도는 동안 호출하는 쪽(MemberQueryGuard)이 주기적으로 논블로킹 읽기(ActionCode.AVAILABLE)를 시도하고,
+//    읽기가 EOF/에러로 끝나면 끊긴 것으로 봄
+//! coyote 요청은 Valve가 요청 attribute로 넣어줌 (TomcatConfig), Tomcat이 아니면 항상 연결된 것으로 봄
+//! 응답 처리(컨테이너 스레드)와 동시에 호출하면 안 됨: 결과를 넘기기 전에 폴링을 멈출 것
+public final class ClientConnection {
+
+    static final String COYOTE_REQUEST = ClientConnection.class.getName() + ".coyoteRequest";
+
+    private ClientConnection() {
+    }
+
+    public static boolean isClosed(HttpServletRequest request) {
+        if (!(request.getAttribute(COYOTE_REQUEST) instanceof org.apache.coyote.Request coyoteRequest)) {
+            return false;
+        }
+        AtomicBoolean error = new AtomicBoolean();
+        coyoteRequest.action(ActionCode.IS_ERROR, error);
+        if (error.get()) {
+            return true;
+        }
+        //? GET은 본문을 다 읽은 상태라 읽을 게 없으면 0, 소켓 읽기가 EOF/IOException이면 Tomcat이 1을 돌려줌
+        coyoteRequest.action(ActionCode.AVAILABLE, Boolean.TRUE);
+        return coyoteRequest.getAvailable() > 0;
+    }
+
+    //* 서블릿 API로는 coyote 요청을 꺼낼 수 없어서 엔진 Valve에서 attribute로 넘김
+    public static class Valve extends ValveBase {
+
+        public Valve() {
+            super(true); // DeferredResult(비동기) 요청도 통과해야 함
+        }
+
+        @Override
+        public void invoke(Request request, Response response) throws IOException, ServletException {
+            request.setAttribute(COYOTE_REQUEST, request.getCoyoteRequest());
+            getNext().invoke(request, response);
+        }
+    }
+}
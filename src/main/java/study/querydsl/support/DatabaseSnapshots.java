@@ -0,0 +1,180 @@
+package study.querydsl.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//* 시드 데이터를 넣은 H2 DB 전체를 SCRIPT 파일로 떠두고, 다음부터는 시드 대신 RUNSCRIPT로 복원
+//  - 파일 이름의 키 = 데이터셋 이름 + 시드 코드(클래스 바이트코드) + ddl-auto가 만든 스키마(테이블/컬럼/인덱스/시퀀스) + H2 버전의 해시
+//  - 엔티티 매핑이나 시드 코드가 바뀌면 키가 달라져서 이전 스냅샷은 자동으로 안 쓰게 됨
+//! DB 전체를 DROP ALL OBJECTS 후 복원하므로 복원 시점에 커밋돼 있던 다른 데이터는 사라진다
+//! Hibernate는 시퀀스 값을 allocationSize(50)만큼 미리 받아두므로, 이미 id를 발급한 JVM에서 복원하면
+//  복원된 row와 id가 겹칠 수 있다 -> 기동 시점이나, 복원한 데이터를 읽기만 하고 끝나면 지우는 테스트 클래스에서만 사용
+//! 테스트에서 쓸 때는 다른 테스트 컨텍스트와 DB를 공유하지 않도록 전용 spring.datasource.url을 지정할 것
+@Slf4j
+@Component
+public class DatabaseSnapshots {
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final Path directory;
+
+    public DatabaseSnapshots(DataSource dataSource,
+                             EntityManagerFactory entityManagerFactory,
+                             @Value("${member.snapshot.enabled:false}") boolean enabled,
+                             @Value("${member.snapshot.dir:build/db-snapshots}") Path directory) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.directory = directory;
+    }
+
+    //* 스냅샷이 있으면 복원하고 true, 없으면 seeder(자체 트랜잭션으로 커밋해야 함)를 실행한 뒤 스냅샷을 뜨고 false
+    public boolean restoreOrCapture(String dataSet, Class<?> seederClass, Runnable seeder) {
+        if (!enabled) {
+            seeder.run();
+            return false;
+        }
+
+        long start = System.nanoTime();
+        Path file = directory.resolve(dataSet + "-" + fingerprint(dataSet, seederClass) + ".sql");
+        if (Files.exists(file)) {
+            restore(file);
+            log.info("database snapshot restored. file={} elapsed={}ms", file, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        }
+
+        seeder.run();
+        capture(file);
+        log.info("database snapshot captured. file={} elapsed={}ms", file, (System.nanoTime() - start) / 1_000_000);
+        return false;
+    }
+
+    String fingerprint(String dataSet, Class<?> seederClass) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"H2".equals(connection.getMetaData().getDatabaseProductName())) {
+                throw new IllegalStateException("H2 전용 기능: " + connection.getMetaData().getDatabaseProductName());
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, dataSet);
+            update(digest, connection.getMetaData().getDatabaseProductVersion());
+            try (InputStream bytecode = seederClass.getResourceAsStream("/" + seederClass.getName().replace('.', '/') + ".class")) {
+                if (bytecode != null) {
+                    digest.update(bytecode.readAllBytes());
+                }
+            }
+            // 자동 생성된 PK/제약조건 인덱스 이름은 생성 순서에 따라 달라질 수 있어서 제외
+            hashRows(connection, digest, """
+                    SELECT TABLE_NAME, COLUMN_NAME, ORDINAL_POSITION, DATA_TYPE, CHARACTER_MAXIMUM_LENGTH, IS_NULLABLE
+                    FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = 'PUBLIC'
+                    ORDER BY TABLE_NAME, ORDINAL_POSITION""");
+            hashRows(connection, digest, """
+                    SELECT I.TABLE_NAME, CASE WHEN I.IS_GENERATED THEN '' ELSE I.INDEX_NAME END, I.INDEX_TYPE_NAME,
+                           C.COLUMN_NAME, C.ORDINAL_POSITION
+                    FROM INFORMATION_SCHEMA.INDEXES I
+                    JOIN INFORMATION_SCHEMA.INDEX_COLUMNS C
+                      ON C.INDEX_SCHEMA = I.INDEX_SCHEMA AND C.INDEX_NAME = I.INDEX_NAME
+                    WHERE I.TABLE_SCHEMA = 'PUBLIC'
+                    ORDER BY 1, 2, 3, 4, 5""");
+            hashRows(connection, digest, """
+                    SELECT SEQUENCE_NAME, START_VALUE, INCREMENT
+                    FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = 'PUBLIC'
+                    ORDER BY SEQUENCE_NAME""");
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (SQLException e) {
+            throw new IllegalStateException("스키마 해시 계산 실패", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void capture(Path file) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            Files.createDirectories(directory);
+            //! 동시에 같은 스냅샷을 뜨는 다른 JVM이 반쯤 쓴 파일을 읽지 않도록 임시 파일에 쓰고 옮긴다
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            statement.execute("SCRIPT NOPASSWORDS NOSETTINGS TO " + literal(temp));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (SQLException e) {
+            throw new IllegalStateException("스냅샷 생성 실패: " + file, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void restore(Path file) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            Map<String, Long> sequences = sequenceValues(statement);
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("RUNSCRIPT FROM " + literal(file));
+            // 시퀀스는 뒤로 돌아가지 않게 복원 전 값과 스냅샷 값 중 큰 쪽으로 맞춤
+            Map<String, Long> restored = sequenceValues(statement);
+            for (Map.Entry<String, Long> entry : sequences.entrySet()) {
+                Long value = restored.get(entry.getKey());
+                if (value != null && value < entry.getValue()) {
+                    statement.execute("ALTER SEQUENCE \"" + entry.getKey() + "\" RESTART WITH " + entry.getValue());
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("스냅샷 복원 실패: " + file, e);
+        }
+        //* 복원 전 데이터로 채워진 2차 캐시가 남지 않도록 비움
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private static Map<String, Long> sequenceValues(Statement statement) throws SQLException {
+        Map<String, Long> values = new LinkedHashMap<>();
+        try (ResultSet rs = statement.executeQuery(
+                "SELECT SEQUENCE_NAME, BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = 'PUBLIC'")) {
+            while (rs.next()) {
+                values.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return values;
+    }
+
+    private static void hashRows(Connection connection, MessageDigest digest, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    update(digest, String.valueOf(rs.getObject(i)));
+                }
+            }
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String literal(Path path) {
+        return "'" + path.toAbsolutePath().toString().replace("'", "''") + "'";
+    }
+}
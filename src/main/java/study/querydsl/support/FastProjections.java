@@ -0,0 +1,39 @@
+package study.querydsl.support;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+
+//* Projections.bean/fields/constructor 대체용
+//? Querydsl의 QBean/ConstructorExpression은 row마다 리플렉션(Method.invoke, Field.set)을 호출하지만,
+//? 여기서는 DTO 클래스 + 별칭 조합마다 MethodHandle을 한 번만 만들어 캐시하고 모든 row에서 재사용한다
+//  - constructor: primitive 파라미터의 NULL은 기본값, 가변 인자 생성자 지원 (ConstructorExpression과 동일)
+//  - bean/fields: NULL은 주입하지 않고 대상 프로퍼티가 없는 별칭은 무시 (QBean과 동일)
+//  - strictBean/strictFields: 대상 프로퍼티가 없는 별칭이면 무시하지 않고 생성 시점에 예외
+public final class FastProjections {
+
+    private FastProjections() {
+    }
+
+    //! Projections.bean과 동일하게 기본 생성자와 setter가 필요함
+    public static <T> FactoryExpression<T> bean(Class<? extends T> type, Expression<?>... exprs) {
+        return new MethodHandleBean<>(type, false, false, exprs);
+    }
+
+    //* 별칭 오타로 값이 조용히 비지 않게 하려면 strict 버전 사용
+    public static <T> FactoryExpression<T> strictBean(Class<? extends T> type, Expression<?>... exprs) {
+        return new MethodHandleBean<>(type, false, true, exprs);
+    }
+
+    //* setter 없이 필드에 직접 주입 (private 필드도 가능)
+    public static <T> FactoryExpression<T> fields(Class<? extends T> type, Expression<?>... exprs) {
+        return new MethodHandleBean<>(type, true, false, exprs);
+    }
+
+    public static <T> FactoryExpression<T> strictFields(Class<? extends T> type, Expression<?>... exprs) {
+        return new MethodHandleBean<>(type, true, true, exprs);
+    }
+
+    public static <T> FactoryExpression<T> constructor(Class<? extends T> type, Expression<?>... exprs) {
+        return new MethodHandleConstructor<>(type, exprs);
+    }
+}
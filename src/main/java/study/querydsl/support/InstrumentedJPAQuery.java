@@ -0,0 +1,137 @@
+package study.querydsl.support;
+
+import com.querydsl.core.NonUniqueResultException;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import org.hibernate.Session;
+import org.hibernate.query.spi.QueryImplementor;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.hibernate.jpa.HibernateHints.HINT_TIMEOUT;
+
+//! select(...)/from(...)은 같은 인스턴스를 반환하므로 체이닝해도 계측이 유지됨
+class InstrumentedJPAQuery<T> extends JPAQuery<T> {
+
+    private final QueryMetrics metrics;
+    private final String method;
+
+    InstrumentedJPAQuery(EntityManager em, QueryMetrics metrics, String method) {
+        super(em);
+        this.metrics = metrics;
+        this.method = method;
+    }
+
+    @Override
+    public List<T> fetch() {
+        return metrics.record(method, "fetch", getMetadata().getWhere(), super::fetch, List::size);
+    }
+
+    @Override
+    public T fetchOne() throws NonUniqueResultException {
+        return metrics.record(method, "fetchOne", getMetadata().getWhere(), super::fetchOne, result -> result != null ? 1 : 0);
+    }
+
+    //* stream은 row를 다 읽거나, 읽다가 실패하거나, 닫힐 때 중 먼저 오는 시점에 한 번만 기록
+    //  - 읽는 도중(ResultSet.next, 행 변환)의 예외는 그 outcome(timeout/cancelled/예외 이름)으로 기록
+    //  - 소비하는 쪽 forEach 콜백이 던진 예외는 쿼리 실패가 아니므로 닫힐 때 success로 기록
+    //! 호출하는 쪽에서 반드시 닫아야 함 (try-with-resources, searchColumns 참고): 닫지 않으면 커서/커넥션이 남고,
+    //  끝까지 읽지 않은 stream은 기록도 되지 않음
+    @Override
+    public Stream<T> stream() {
+        QueryMetrics.Context context = metrics.begin(method, "stream", getMetadata().getWhere());
+        Stream<T> stream;
+        try {
+            stream = super.stream();
+        } catch (RuntimeException e) {
+            metrics.end(context, 0, e);
+            throw e;
+        }
+        RecordingSpliterator<T> rows = new RecordingSpliterator<>(stream.spliterator(), metrics, context);
+        return StreamSupport.stream(rows, false)
+                .onClose(() -> {
+                    try {
+                        stream.close();
+                    } finally {
+                        rows.end(null);
+                    }
+                });
+    }
+
+    private static class RecordingSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Spliterator<T> rows;
+        private final QueryMetrics metrics;
+        private final QueryMetrics.Context context;
+        private long count;
+        private boolean inConsumer;
+        private boolean ended;
+
+        RecordingSpliterator(Spliterator<T> rows, QueryMetrics metrics, QueryMetrics.Context context) {
+            super(Long.MAX_VALUE, rows.characteristics() & ~(SIZED | SUBSIZED));
+            this.rows = rows;
+            this.metrics = metrics;
+            this.context = context;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            boolean advanced;
+            try {
+                advanced = rows.tryAdvance(row -> {
+                    count++;
+                    inConsumer = true;
+                    action.accept(row);
+                    inConsumer = false;
+                });
+            } catch (RuntimeException e) {
+                if (!inConsumer) {
+                    end(e);
+                }
+                inConsumer = false;
+                throw e;
+            }
+            if (!advanced) {
+                end(null);
+            }
+            return advanced;
+        }
+
+        void end(Throwable error) {
+            if (!ended) {
+                ended = true;
+                metrics.end(context, error == null ? count : 0, error);
+            }
+        }
+    }
+
+    //* 요청의 QueryDeadline이 있으면 남은 시간을 JDBC query timeout으로 넘기고, 취소할 수 있게 실행 세션을 등록
+    //? fetch/fetchOne/stream/fetchCount 모두 여기서 Query를 만듦
+    @Override
+    protected Query createQuery(QueryModifiers modifiers, boolean forCount) {
+        QueryDeadline deadline = QueryDeadline.current();
+        if (deadline == null) {
+            return super.createQuery(modifiers, forCount);
+        }
+        int timeoutSeconds = deadline.remainingSeconds();
+        Query query = super.createQuery(modifiers, forCount);
+        query.setHint(HINT_TIMEOUT, timeoutSeconds);
+        //? 트랜잭션 밖이면 em은 쿼리마다 새 세션을 여는 프록시라서 em이 아니라 Query에서 실제 실행 세션을 꺼냄
+        try {
+            if (query.unwrap(QueryImplementor.class).getSession() instanceof Session session) {
+                deadline.register(session);
+            }
+        } catch (PersistenceException e) {
+            // 세션을 꺼낼 수 없으면 timeout만 적용
+        }
+        return query;
+    }
+}
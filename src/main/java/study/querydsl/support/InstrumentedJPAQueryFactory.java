@@ -0,0 +1,99 @@
+package study.querydsl.support;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import jakarta.persistence.EntityManager;
+
+//* select/selectFrom/update/delete 등 모든 진입점이 query()/update()/delete()를 거치므로 여기서 계측 버전으로 바꿔치기
+//? 메트릭의 method 태그는 호출하는 쪽이 named("MemberRepositoryImpl.search")로 넘김 (이름 없이 만든 쿼리는 "unnamed")
+public class InstrumentedJPAQueryFactory extends JPAQueryFactory {
+
+    private final EntityManager em;
+    private final QueryMetrics metrics;
+    private final String method;
+
+    public InstrumentedJPAQueryFactory(EntityManager em, QueryMetrics metrics) {
+        this(em, metrics, QueryMetrics.UNNAMED);
+    }
+
+    private InstrumentedJPAQueryFactory(EntityManager em, QueryMetrics metrics, String method) {
+        super(em);
+        this.em = em;
+        this.metrics = metrics;
+        this.method = method;
+    }
+
+    //* 여기서 만든 쿼리는 method 태그로 기록됨 (em 프록시와 metrics만 공유하는 가벼운 객체라 호출마다 만들어도 됨)
+    public InstrumentedJPAQueryFactory named(String method) {
+        return new InstrumentedJPAQueryFactory(em, metrics, method);
+    }
+
+    @Override
+    public JPAQuery<?> query() {
+        return new InstrumentedJPAQuery<Void>(em, metrics, method);
+    }
+
+    @Override
+    public JPAUpdateClause update(EntityPath<?> path) {
+        return new InstrumentedUpdateClause(em, path, metrics, method);
+    }
+
+    @Override
+    public JPADeleteClause delete(EntityPath<?> path) {
+        return new InstrumentedDeleteClause(em, path, metrics, method);
+    }
+
+    //? update/delete 절은 메타데이터를 노출하지 않아서 where 조건을 직접 모아둔다
+    private static class InstrumentedUpdateClause extends JPAUpdateClause {
+
+        private final QueryMetrics metrics;
+        private final String method;
+        private Predicate where;
+
+        InstrumentedUpdateClause(EntityManager em, EntityPath<?> path, QueryMetrics metrics, String method) {
+            super(em, path);
+            this.metrics = metrics;
+            this.method = method;
+        }
+
+        @Override
+        public JPAUpdateClause where(Predicate... o) {
+            where = ExpressionUtils.and(where, ExpressionUtils.allOf(o));
+            return super.where(o);
+        }
+
+        @Override
+        public long execute() {
+            return metrics.record(method, "execute", where, super::execute, Long::longValue);
+        }
+    }
+
+    private static class InstrumentedDeleteClause extends JPADeleteClause {
+
+        private final QueryMetrics metrics;
+        private final String method;
+        private Predicate where;
+
+        InstrumentedDeleteClause(EntityManager em, EntityPath<?> path, QueryMetrics metrics, String method) {
+            super(em, path);
+            this.metrics = metrics;
+            this.method = method;
+        }
+
+        @Override
+        public JPADeleteClause where(Predicate... o) {
+            where = ExpressionUtils.and(where, ExpressionUtils.allOf(o));
+            return super.where(o);
+        }
+
+        @Override
+        public long execute() {
+            return metrics.record(method, "execute", where, super::execute, Long::longValue);
+        }
+    }
+}
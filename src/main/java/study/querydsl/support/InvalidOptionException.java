@@ -0,0 +1,9 @@
+package study.querydsl.support;
+
+//* 요청으로 받은 작업 옵션(workers, chunkSize 등)이 허용 범위를 벗어남
+public class InvalidOptionException extends IllegalArgumentException {
+
+    public InvalidOptionException(String message) {
+        super(message);
+    }
+}
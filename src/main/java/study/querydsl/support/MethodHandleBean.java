@@ -0,0 +1,185 @@
+package study.querydsl.support;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionException;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Visitor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class MethodHandleBean<T> extends FactoryExpressionBase<T> {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    //* 대상 프로퍼티가 없는 별칭 자리 (QBean처럼 값을 버림)
+    private static final MethodHandle NO_OP_SETTER = MethodHandles.empty(SETTER_TYPE);
+
+    //* (DTO 클래스, 주입 방식, strict 여부, 별칭 목록, 인자 타입) 단위로 한 번만 생성
+    private static final Map<Key, Accessors> CACHE = new ConcurrentHashMap<>();
+
+    private final boolean fieldAccess;
+    private final boolean strict;
+    private final List<String> aliases;
+    private final List<Expression<?>> args;
+    private final Accessors accessors;
+
+    MethodHandleBean(Class<? extends T> type, boolean fieldAccess, boolean strict, Expression<?>... exprs) {
+        super(type);
+        this.fieldAccess = fieldAccess;
+        this.strict = strict;
+
+        List<String> aliases = new ArrayList<>(exprs.length);
+        List<Expression<?>> args = new ArrayList<>(exprs.length);
+        // QBean과 동일한 규칙: Path는 경로 이름, as("alias")는 별칭 이름으로 매핑
+        for (Expression<?> expr : exprs) {
+            if (expr instanceof Path<?> path) {
+                aliases.add(path.getMetadata().getName());
+                args.add(expr);
+            } else if (expr instanceof Operation<?> operation && operation.getOperator() == Ops.ALIAS) {
+                aliases.add(((Path<?>) operation.getArg(1)).getMetadata().getName());
+                args.add(operation.getArg(0));
+            } else {
+                throw new IllegalArgumentException("Unsupported expression " + expr);
+            }
+        }
+        this.aliases = Collections.unmodifiableList(aliases);
+        this.args = Collections.unmodifiableList(args);
+        List<Class<?>> argTypes = args.stream().<Class<?>>map(Expression::getType).toList();
+        this.accessors = CACHE.computeIfAbsent(new Key(type, fieldAccess, strict, this.aliases, argTypes),
+                key -> Accessors.create(key.type(), key.fieldAccess(), key.strict(), key.aliases(), key.argTypes()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T newInstance(Object... a) {
+        try {
+            Object bean = accessors.constructor.invokeExact();
+            MethodHandle[] setters = accessors.setters;
+            for (int i = 0; i < setters.length; i++) {
+                //! QBean과 마찬가지로 null은 주입하지 않음 (primitive 필드 보호)
+                if (a[i] != null) {
+                    setters[i].invokeExact(bean, a[i]);
+                }
+            }
+            return (T) bean;
+        } catch (Throwable e) {
+            throw new ExpressionException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        return obj instanceof MethodHandleBean<?> other
+                && getType().equals(other.getType())
+                && fieldAccess == other.fieldAccess
+                && strict == other.strict
+                && aliases.equals(other.aliases)
+                && args.equals(other.args);
+    }
+
+    private record Key(Class<?> type, boolean fieldAccess, boolean strict, List<String> aliases, List<Class<?>> argTypes) {
+    }
+
+    private record Accessors(MethodHandle constructor, MethodHandle[] setters) {
+
+        static Accessors create(Class<?> type, boolean fieldAccess, boolean strict, List<String> aliases,
+                                List<Class<?>> argTypes) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                        .asType(CONSTRUCTOR_TYPE);
+
+                MethodHandle[] setters = new MethodHandle[aliases.size()];
+                for (int i = 0; i < setters.length; i++) {
+                    if (fieldAccess) {
+                        Field field = findField(type, aliases.get(i), argTypes.get(i), strict);
+                        setters[i] = field != null ? lookup.unreflectSetter(field).asType(SETTER_TYPE) : NO_OP_SETTER;
+                    } else {
+                        Method method = findSetter(type, aliases.get(i), argTypes.get(i), strict);
+                        // 타입을 (Object, Object)void로 맞춰두면 row마다 invokeExact로 바로 호출 가능 (박싱/언박싱 포함)
+                        setters[i] = method != null ? lookup.unreflect(method).asType(SETTER_TYPE) : NO_OP_SETTER;
+                    }
+                }
+                return new Accessors(constructor, setters);
+            } catch (ReflectiveOperationException e) {
+                throw new ExpressionException(e.getMessage(), e);
+            }
+        }
+
+        //* 대상 프로퍼티가 없는 별칭은 QBean처럼 null(값을 버림), strict면 생성 시점에 실패 (별칭 오타로 값이 조용히 비는 것 방지)
+        //  타입이 맞지 않으면 strict 여부와 상관없이 QBean.typeMismatch와 같이 IllegalArgumentException
+        private static Field findField(Class<?> type, String name, Class<?> argType, boolean strict)
+                throws NoSuchFieldException {
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                        checkAssignable(field.getType(), argType);
+                        return field;
+                    }
+                }
+            }
+            if (strict) {
+                throw new NoSuchFieldException("No field found for " + name + " in " + type.getName());
+            }
+            return null;
+        }
+
+        private static Method findSetter(Class<?> type, String name, Class<?> argType, boolean strict)
+                throws NoSuchMethodException {
+            String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            List<Method> candidates = Arrays.stream(type.getMethods())
+                    .filter(method -> method.getName().equals(setterName) && method.getParameterCount() == 1)
+                    .toList();
+            if (candidates.isEmpty()) {
+                if (strict) {
+                    throw new NoSuchMethodException("No setter found for " + name + " in " + type.getName());
+                }
+                return null;
+            }
+            return candidates.stream()
+                    .filter(method -> wrap(method.getParameterTypes()[0]).isAssignableFrom(wrap(argType)))
+                    .findFirst()
+                    .orElseGet(() -> {
+                        checkAssignable(candidates.get(0).getParameterTypes()[0], argType);
+                        return candidates.get(0);
+                    });
+        }
+
+        private static void checkAssignable(Class<?> propertyType, Class<?> argType) {
+            if (!wrap(propertyType).isAssignableFrom(wrap(argType))) {
+                throw new IllegalArgumentException(argType.getName() + " is not compatible with " + propertyType.getName());
+            }
+        }
+
+        private static Class<?> wrap(Class<?> type) {
+            return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+        }
+    }
+}
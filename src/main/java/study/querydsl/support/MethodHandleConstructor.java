@@ -0,0 +1,184 @@
+package study.querydsl.support;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionException;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Visitor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class MethodHandleConstructor<T> extends FactoryExpressionBase<T> {
+
+    //* (DTO 클래스, 인자 타입 목록) 단위로 한 번만 생성
+    private static final Map<Key, Invoker> CACHE = new ConcurrentHashMap<>();
+
+    private final List<Expression<?>> args;
+    private final Invoker invoker;
+
+    MethodHandleConstructor(Class<? extends T> type, Expression<?>... exprs) {
+        super(type);
+        this.args = List.of(exprs);
+        List<Class<?>> paramTypes = Arrays.stream(exprs).<Class<?>>map(Expression::getType).toList();
+        this.invoker = CACHE.computeIfAbsent(new Key(type, paramTypes),
+                key -> Invoker.create(key.type(), key.paramTypes()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T newInstance(Object... a) {
+        try {
+            return (T) invoker.constructor().invokeExact(invoker.withDefaults(a));
+        } catch (Throwable e) {
+            throw new ExpressionException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        return obj instanceof MethodHandleConstructor<?> other
+                && getType().equals(other.getType())
+                && args.equals(other.args);
+    }
+
+    private record Key(Class<?> type, List<Class<?>> paramTypes) {
+    }
+
+    //* defaults: 인자 위치별 primitive 기본값 (primitive 파라미터가 아니면 null)
+    private record Invoker(MethodHandle constructor, Object[] defaults, boolean hasPrimitives) {
+
+        static Invoker create(Class<?> type, List<Class<?>> argTypes) {
+            try {
+                Constructor<?> constructor = findConstructor(type, argTypes);
+                boolean spread = isSpread(constructor, argTypes);
+                Class<?>[] targets = targetTypes(constructor, argTypes.size(), spread);
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                MethodHandle handle = lookup.unreflectConstructor(constructor).asFixedArity();
+                if (spread) {
+                    //? 가변 인자 생성자: 고정 파라미터 뒤의 인자들을 배열 하나로 모음
+                    int fixed = constructor.getParameterCount() - 1;
+                    handle = handle.asCollector(constructor.getParameterTypes()[fixed], argTypes.size() - fixed);
+                }
+                Object[] defaults = new Object[targets.length];
+                boolean hasPrimitives = false;
+                for (int i = 0; i < targets.length; i++) {
+                    if (targets[i].isPrimitive()) {
+                        defaults[i] = Array.get(Array.newInstance(targets[i], 1), 0);
+                        hasPrimitives = true;
+                    }
+                }
+                // (Object[])Object 형태로 펼쳐두면 row마다 배열을 그대로 넘겨 invokeExact 가능
+                handle = handle.asSpreader(Object[].class, targets.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+                return new Invoker(handle, defaults, hasPrimitives);
+            } catch (ReflectiveOperationException e) {
+                throw new ExpressionException(e.getMessage(), e);
+            }
+        }
+
+        //! Projections.constructor와 같이 primitive 파라미터에 들어올 NULL은 기본값(0, false)으로 바꿈 (언박싱 NPE 방지)
+        Object[] withDefaults(Object[] a) {
+            if (!hasPrimitives) {
+                return a;
+            }
+            Object[] values = a;
+            for (int i = 0; i < defaults.length; i++) {
+                if (values[i] == null && defaults[i] != null) {
+                    if (values == a) {
+                        values = a.clone();
+                    }
+                    values[i] = defaults[i];
+                }
+            }
+            return values;
+        }
+
+        //* 고정 인자 생성자를 먼저 찾고, 없으면 가변 인자 생성자 (ConstructorExpression과 같은 규칙)
+        private static Constructor<?> findConstructor(Class<?> type, List<Class<?>> argTypes) throws NoSuchMethodException {
+            for (Constructor<?> constructor : type.getConstructors()) {
+                Class<?>[] parameterTypes = constructor.getParameterTypes();
+                if (parameterTypes.length == argTypes.size() && matches(parameterTypes, argTypes, parameterTypes.length)) {
+                    return constructor;
+                }
+            }
+            for (Constructor<?> constructor : type.getConstructors()) {
+                if (constructor.isVarArgs() && isSpread(constructor, argTypes)) {
+                    return constructor;
+                }
+            }
+            throw new NoSuchMethodException("No constructor found for " + type.getName() + " with parameters " + argTypes);
+        }
+
+        private static boolean isSpread(Constructor<?> constructor, List<Class<?>> argTypes) {
+            if (!constructor.isVarArgs()) {
+                return false;
+            }
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            int fixed = parameterTypes.length - 1;
+            if (argTypes.size() < fixed || !matches(parameterTypes, argTypes, fixed)) {
+                return false;
+            }
+            // 마지막 인자가 배열 자체로 들어오면 고정 인자로 호출
+            if (argTypes.size() == parameterTypes.length && matches(parameterTypes, argTypes, parameterTypes.length)) {
+                return false;
+            }
+            Class<?> component = parameterTypes[fixed].getComponentType();
+            for (int i = fixed; i < argTypes.size(); i++) {
+                if (!assignable(component, argTypes.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matches(Class<?>[] parameterTypes, List<Class<?>> argTypes, int count) {
+            for (int i = 0; i < count; i++) {
+                if (!assignable(parameterTypes[i], argTypes.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        //* row 배열의 위치별로 실제로 넘어갈 파라미터 타입 (가변 인자는 배열의 원소 타입)
+        private static Class<?>[] targetTypes(Constructor<?> constructor, int argCount, boolean spread) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Class<?>[] targets = new Class<?>[argCount];
+            int fixed = parameterTypes.length - 1;
+            for (int i = 0; i < argCount; i++) {
+                targets[i] = spread && i >= fixed
+                        ? parameterTypes[fixed].getComponentType()
+                        : parameterTypes[i];
+            }
+            return targets;
+        }
+
+        private static boolean assignable(Class<?> parameterType, Class<?> argType) {
+            return wrap(parameterType).isAssignableFrom(wrap(argType));
+        }
+
+        private static Class<?> wrap(Class<?> type) {
+            return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+        }
+    }
+}
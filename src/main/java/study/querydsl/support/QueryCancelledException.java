@@ -0,0 +1,17 @@
+package study.querydsl.support;
+
+import java.util.concurrent.CancellationException;
+
+//* 클라이언트가 연결을 끊어서 쿼리를 보내지 않았거나 실행 중에 취소함
+//? CancellationException이라서 같은 검색에 합류해 있던 요청(SingleFlight)은 결과를 공유하지 않고 직접 실행
+public class QueryCancelledException extends CancellationException {
+
+    public QueryCancelledException(String endpoint) {
+        super("query cancelled, client disconnected: " + endpoint);
+    }
+
+    public QueryCancelledException(String endpoint, Throwable cause) {
+        this(endpoint);
+        initCause(cause);
+    }
+}
@@ -0,0 +1,115 @@
+package study.querydsl.support;
+
+import jakarta.persistence.QueryTimeoutException;
+import org.hibernate.Session;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+//* 요청 하나의 쿼리 시간 예산과 취소 상태
+//  - 쿼리를 실행하는 스레드에 run/call로 묶어두면 InstrumentedJPAQuery가 남은 시간을 JDBC query timeout으로 넘기고
+//    실행 중인 세션을 등록해 둠
+//  - cancel()은 다른 스레드(클라이언트 연결 끊김 콜백)에서 호출되고, 등록된 세션의 실행 중인 statement를 취소
+//! JDBC timeout은 초 단위라서 남은 시간을 올림해서 넘김, 더 정확한 시간 제한은 호출하는 쪽(DeferredResult timeout)에서 맞춤
+public class QueryDeadline {
+
+    private static final ThreadLocal<QueryDeadline> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final long deadlineNanos;
+    private final List<Session> sessions = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    private QueryDeadline(String endpoint, Duration timeout) {
+        this.endpoint = endpoint;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    public static QueryDeadline start(String endpoint, Duration timeout) {
+        return new QueryDeadline(endpoint, timeout);
+    }
+
+    public static QueryDeadline current() {
+        return CURRENT.get();
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T call(Supplier<T> work) {
+        QueryDeadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return translateCancellation(work);
+        } finally {
+            sessions.clear();
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    //* 취소된 statement는 DB/드라이버에 따라 timeout이나 일반 SQL 에러로 올라오므로, 요청이 취소된 상태면 QueryCancelledException으로 바꿈
+    //? 같은 검색에 합류한 요청에게 결과를 넘기는 쪽(MemberSearchCoalescer)도 이걸로 감싸서 취소를 구분할 수 있게 함
+    public static <T> T translateCancellation(Supplier<T> work) {
+        try {
+            return work.get();
+        } catch (QueryCancelledException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            QueryDeadline deadline = CURRENT.get();
+            if (deadline != null && deadline.cancelled) {
+                throw new QueryCancelledException(deadline.endpoint, e);
+            }
+            throw e;
+        }
+    }
+
+    //* 쿼리 실행 직전에 호출: 이미 취소됐거나 시간이 지났으면 DB에 보내지 않음
+    int remainingSeconds() {
+        if (cancelled) {
+            throw new QueryCancelledException(endpoint);
+        }
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining <= 0) {
+            throw new QueryTimeoutException("query deadline exceeded before execution: " + endpoint);
+        }
+        return (int) Math.max(1, (remaining + 999_999_999L) / 1_000_000_000L);
+    }
+
+    void register(Session session) {
+        sessions.add(session);
+        //? 등록 직전에 취소된 경우도 놓치지 않도록 다시 확인 (아직 실행 전이므로 보내지 않음)
+        if (cancelled) {
+            throw new QueryCancelledException(endpoint);
+        }
+    }
+
+    //! 세션 자체는 다른 스레드 소유이므로 statement 취소(cancelQuery)만 호출, 정리는 실행 스레드의 예외 처리에 맡김
+    public void cancel() {
+        cancelled = true;
+        for (Session session : sessions) {
+            try {
+                session.cancelQuery();
+            } catch (RuntimeException e) {
+                // 이미 끝났거나 닫힌 세션
+            }
+        }
+    }
+}
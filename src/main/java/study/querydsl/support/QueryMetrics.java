@@ -0,0 +1,175 @@
+package study.querydsl.support;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.TemplateExpression;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.sql.SQLTimeoutException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+//* Querydsl 쿼리 실행마다 시간/결과 row 수/에러를 기록
+//? 태그: method(쿼리를 만든 리포지토리/서비스 메서드, InstrumentedJPAQueryFactory.named로 지정), operation(fetch/fetchOne/stream/execute), shape(where 절에 쓰인 경로), outcome
+//! 오버헤드 예산: 쿼리당 5µs 이하 (ProjectionBenchmark와 같은 jmh 소스셋의 QueryMetricsBenchmark로 측정)
+public class QueryMetrics {
+
+    public static final String TIMER = "querydsl.query";
+    public static final String ROWS = "querydsl.query.rows";
+    //* 시간 초과(timeout)나 클라이언트 연결 끊김(cancelled)으로 중단된 쿼리
+    public static final String ABORTED = "querydsl.query.aborted";
+    //* 엔티티 조회 메서드가 호출마다 고른 fetch plan별 시간/row 수 (안에서 실행된 쿼리는 TIMER로 따로 기록됨)
+    public static final String FETCH_PLAN = "repository.fetch.plan";
+    public static final String FETCH_PLAN_ROWS = "repository.fetch.plan.rows";
+
+    //* named(...) 없이 만든 쿼리의 method 태그
+    public static final String UNNAMED = "unnamed";
+
+    private final MeterRegistry registry;
+    //! Meter builder().register()는 호출마다 태그 정렬 + Meter.Id 생성 + 레지스트리 조회를 하므로 태그 조합별로 한 번만 등록
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<RowsKey, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+    private final Map<AbortKey, Counter> abortCounters = new ConcurrentHashMap<>();
+    private final Map<FetchPlanKey, Timer> fetchPlanTimers = new ConcurrentHashMap<>();
+    private final Map<FetchPlanKey, DistributionSummary> fetchPlanRows = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <R> R record(String method, String operation, Expression<?> where, Supplier<R> query, ToLongFunction<R> rows) {
+        Context context = begin(method, operation, where);
+        R result;
+        try {
+            result = query.get();
+        } catch (RuntimeException e) {
+            end(context, 0, e);
+            throw e;
+        }
+        end(context, rows.applyAsLong(result), null);
+        return result;
+    }
+
+    public <R> R recordFetchPlan(String method, String plan, Supplier<R> fetch, ToLongFunction<R> rows) {
+        long start = System.nanoTime();
+        R result;
+        String outcome = "success";
+        try {
+            result = fetch.get();
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            fetchPlanTimers.computeIfAbsent(new FetchPlanKey(method, plan, outcome), key -> Timer.builder(FETCH_PLAN)
+                            .tags("method", key.method(), "plan", key.plan(), "outcome", key.outcome())
+                            .register(registry))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        fetchPlanRows.computeIfAbsent(new FetchPlanKey(method, plan, null), key -> DistributionSummary.builder(FETCH_PLAN_ROWS)
+                        .tags("method", key.method(), "plan", key.plan())
+                        .register(registry))
+                .record(rows.applyAsLong(result));
+        return result;
+    }
+
+    public Context begin(String method, String operation, Expression<?> where) {
+        return new Context(method, operation, shape(where), System.nanoTime());
+    }
+
+    public void end(Context context, long rows, Throwable error) {
+        long elapsed = System.nanoTime() - context.startNanos();
+        String abortReason = error != null ? abortReason(error) : null;
+        if (abortReason != null) {
+            abortCounters.computeIfAbsent(new AbortKey(context.method(), abortReason), key -> Counter.builder(ABORTED)
+                            .tags("method", key.method(), "reason", key.reason())
+                            .register(registry))
+                    .increment();
+        }
+        String outcome = error == null ? "success" : abortReason != null ? abortReason : error.getClass().getSimpleName();
+        TimerKey timerKey = new TimerKey(context.method(), context.operation(), context.shape(), outcome);
+        timers.computeIfAbsent(timerKey, key -> Timer.builder(TIMER)
+                        .tags(tags(key.method(), key.operation(), key.shape()))
+                        .tag("outcome", key.outcome())
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (error == null) {
+            RowsKey rowsKey = new RowsKey(context.method(), context.operation(), context.shape());
+            rowSummaries.computeIfAbsent(rowsKey, key -> DistributionSummary.builder(ROWS)
+                            .tags(tags(key.method(), key.operation(), key.shape()))
+                            .publishPercentileHistogram()
+                            .register(registry))
+                    .record(rows);
+        }
+    }
+
+    private static Tags tags(String method, String operation, String shape) {
+        return Tags.of("method", method, "operation", operation, "shape", shape);
+    }
+
+    //! H2는 취소된 statement도 timeout과 같은 에러(57014)로 알려주므로 요청이 취소됐는지를 먼저 봄
+    static String abortReason(Throwable error) {
+        QueryDeadline deadline = QueryDeadline.current();
+        if (error instanceof QueryCancelledException || (deadline != null && deadline.isCancelled())) {
+            return "cancelled";
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof jakarta.persistence.QueryTimeoutException
+                    || cause instanceof org.hibernate.QueryTimeoutException
+                    || cause instanceof SQLTimeoutException) {
+                return "timeout";
+            }
+        }
+        return null;
+    }
+
+    //* 값은 빼고 어떤 경로로 필터했는지만 남겨서 태그 카디널리티를 제한 (ex. "member.age,team.name")
+    static String shape(Expression<?> where) {
+        if (where == null) {
+            return "none";
+        }
+        Set<String> paths = new TreeSet<>();
+        collectPaths(where, paths);
+        return paths.isEmpty() ? "none" : String.join(",", paths);
+    }
+
+    private static void collectPaths(Expression<?> expr, Set<String> paths) {
+        if (expr instanceof Path<?> path) {
+            paths.add(path.toString());
+        } else if (expr instanceof Operation<?> operation) {
+            operation.getArgs().forEach(arg -> collectPaths(arg, paths));
+        } else if (expr instanceof TemplateExpression<?> template) {
+            template.getArgs().stream()
+                    .filter(Expression.class::isInstance)
+                    .forEach(arg -> collectPaths((Expression<?>) arg, paths));
+        } else if (expr instanceof SubQueryExpression<?>) {
+            paths.add("subquery");
+        }
+    }
+
+    public record Context(String method, String operation, String shape, long startNanos) {
+    }
+
+    private record TimerKey(String method, String operation, String shape, String outcome) {
+    }
+
+    private record RowsKey(String method, String operation, String shape) {
+    }
+
+    private record AbortKey(String method, String reason) {
+    }
+
+    private record FetchPlanKey(String method, String plan, String outcome) {
+    }
+}
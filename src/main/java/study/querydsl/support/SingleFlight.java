@@ -0,0 +1,120 @@
+package study.querydsl.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+//* 같은 키로 동시에 들어온 호출은 먼저 온 호출(leader) 하나만 실행하고 나머지는 그 결과를 같이 받음
+//  - 결과는 leader가 끝나는 즉시 맵에서 빠지므로 캐시가 아님 (실행 중인 동안만 공유)
+//  - 키마다 실행 시작 시점부터 timeout이 지나면 그 실행에는 더 이상 합류하지 않고, 기다리던 호출은 각자 실행
+//  - leader가 취소(CancellationException)되면 기다리던 호출은 각자 실행
+//! 공유된 결과 객체는 여러 요청이 같이 쓰므로 받은 쪽에서 수정하면 안 됨
+public class SingleFlight<K, V> {
+
+    public static final String COUNTER = "single.flight.calls";
+
+    private final Map<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Counter executed;
+    private final Counter joined;
+    private final Counter timedOut;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry registry) {
+        this.timeout = timeout;
+        this.executed = counter(registry, name, "executed");
+        this.joined = counter(registry, name, "joined");
+        this.timedOut = counter(registry, name, "timeout");
+        Gauge.builder("single.flight.in.flight", inFlight, Map::size).tag("name", name).register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String result) {
+        return Counter.builder(COUNTER).tag("name", name).tag("result", result).register(registry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        Flight<V> flight = new Flight<>(System.nanoTime() + timeout.toNanos());
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            return lead(key, flight, loader);
+        }
+
+        long remaining = existing.deadlineNanos() - System.nanoTime();
+        boolean cancelled = false;
+        if (remaining > 0) {
+            try {
+                V value = existing.result().get(remaining, TimeUnit.NANOSECONDS);
+                joined.increment();
+                return value;
+            } catch (CancellationException e) {
+                //? CompletableFuture.get은 CancellationException을 ExecutionException으로 감싸지 않고 그대로 던짐
+                //  leader 쪽 사정(클라이언트 연결 끊김 등)으로 취소된 실행이므로 아래에서 직접 실행
+                cancelled = true;
+            } catch (ExecutionException e) {
+                //! leader의 예외도 그대로 공유 (같은 조건이면 다시 실행해도 같은 결과)
+                joined.increment();
+                throw unwrap(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for in-flight call: " + key, e);
+            } catch (TimeoutException e) {
+                // 아래에서 직접 실행
+            }
+        }
+
+        //* 시간이 지났거나 취소된 실행은 맵에서 빼서 이후 호출이 새 실행을 시작하게 함 (느린 실행 하나에 계속 줄 서지 않도록)
+        if (!cancelled) {
+            timedOut.increment();
+        }
+        inFlight.remove(key, existing);
+        executed.increment();
+        return loader.get();
+    }
+
+    private V lead(K key, Flight<V> flight, Supplier<V> loader) {
+        executed.increment();
+        try {
+            V value = loader.get();
+            flight.result().complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    public Stats stats() {
+        return new Stats((long) executed.count(), (long) joined.count(), (long) timedOut.count(), inFlight.size());
+    }
+
+    //* joined = 합류해서 DB를 치지 않은 호출 수 (timeout으로 빠진 호출은 직접 실행했으므로 executed에 포함)
+    public record Stats(long executed, long joined, long timedOut, int inFlight) {
+    }
+
+    private record Flight<V>(long deadlineNanos, CompletableFuture<V> result) {
+        Flight(long deadlineNanos) {
+            this(deadlineNanos, new CompletableFuture<>());
+        }
+    }
+}
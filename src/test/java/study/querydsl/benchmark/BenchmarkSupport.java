@@ -0,0 +1,48 @@
+package study.querydsl.benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+//* 벤치마크 공통 측정 도구 (JIT 워밍업 후 호출 단위 지연시간과 처리량을 출력)
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    public static Result measure(String name, int warmup, int iterations, Runnable task) {
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+
+        long[] latencies = new long[iterations];
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long begin = System.nanoTime();
+            task.run();
+            latencies[i] = System.nanoTime() - begin;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        Result result = new Result(name,
+                Arrays.stream(latencies).average().orElse(0) / 1_000,
+                percentile(latencies, 0.50) / 1_000.0,
+                percentile(latencies, 0.99) / 1_000.0,
+                iterations / (elapsed / 1_000_000_000.0));
+        System.out.println(result);
+        return result;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    public record Result(String name, double meanMicros, double p50Micros, double p99Micros, double opsPerSecond) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-45s mean=%10.1fus p50=%10.1fus p99=%10.1fus throughput=%10.1f ops/s",
+                    name, meanMicros, p50Micros, p99Micros, opsPerSecond);
+        }
+    }
+}
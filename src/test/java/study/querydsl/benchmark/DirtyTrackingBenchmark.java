@@ -0,0 +1,87 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.Locale;
+
+//* 영속성 컨텍스트 크기별 flush 시간과 관리 엔티티 1건당 메모리 (바이트코드 향상 전/후 비교)
+//? 향상 후: ./gradlew benchmarkEmbedded --tests '*DirtyTrackingBenchmark'
+//? 향상 전: ./gradlew benchmarkEmbedded --tests '*DirtyTrackingBenchmark' -PbytecodeEnhancement=false
+@Tag("benchmark")
+@SpringBootTest
+class DirtyTrackingBenchmark {
+
+    //! Hibernate가 시퀀스로 발급하는 id와 겹치지 않도록 큰 값부터 SQL로 직접 넣음 (100만 건 persist는 너무 느림)
+    static final long ID_OFFSET = 1_000_000_000L;
+    static final int ROUNDS = 3;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createNativeQuery("delete from member where member_id > " + ID_OFFSET).executeUpdate());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void flush(int size) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createNativeQuery("insert into member (member_id, username, age) "
+                                + "select " + ID_OFFSET + " + x, 'dirty' || x, mod(x, 100) from system_range(1, " + size + ")")
+                        .executeUpdate());
+
+        boolean enhanced = ManagedEntity.class.isAssignableFrom(Member.class);
+        for (int round = 0; round < ROUNDS; round++) {
+            measure(size, enhanced);
+        }
+    }
+
+    private void measure(int size, boolean enhanced) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            List<Member> members = em.createQuery("select m from Member m where m.id > :offset", Member.class)
+                    .setParameter("offset", ID_OFFSET)
+                    .getResultList();
+            System.gc();
+            long bytesPerEntity = (memory.getHeapMemoryUsage().getUsed() - heapBefore) / Math.max(1, members.size());
+
+            // 변경 없음: 향상 전에는 모든 엔티티를 스냅샷과 비교, 향상 후에는 변경 기록만 확인
+            long cleanStart = System.nanoTime();
+            em.flush();
+            long cleanNanos = System.nanoTime() - cleanStart;
+
+            // 1% 변경
+            for (int i = 0; i < members.size(); i += 100) {
+                Member member = members.get(i);
+                member.setAge(member.getAge() + 1);
+            }
+            long dirtyStart = System.nanoTime();
+            em.flush();
+            long dirtyNanos = System.nanoTime() - dirtyStart;
+
+            System.out.println(String.format(Locale.ROOT,
+                    "enhanced=%-5s managed=%-8d flush(clean)=%8.2f ms flush(1%% dirty)=%8.2f ms heap=%d bytes/entity",
+                    enhanced, size, cleanNanos / 1_000_000.0, dirtyNanos / 1_000_000.0, bytesPerEntity));
+            em.clear();
+        });
+    }
+}
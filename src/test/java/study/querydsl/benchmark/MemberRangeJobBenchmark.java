@@ -0,0 +1,67 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberRangeJobProgress;
+import study.querydsl.job.MemberRangeJobOptions;
+import study.querydsl.job.MemberRangeJobRunner;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+//* 워커 수별 범위 작업 처리량 (DB가 포화될 때까지 워커 수에 비례해서 늘어나는지 확인)
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MemberRangeJobBenchmark {
+
+    //! Hibernate가 시퀀스로 발급하는 id와 겹치지 않도록 큰 값부터 SQL로 직접 넣음
+    static final long ID_OFFSET = 2_000_000_000L;
+    static final int MEMBER_COUNT = 200_000;
+    static final int ROUNDS = 3;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberRangeJobRunner memberRangeJobRunner;
+
+    @BeforeAll
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createNativeQuery("insert into member (member_id, username, age) "
+                                + "select " + ID_OFFSET + " + x, 'rangeJob' || x, mod(x, 100) from system_range(1, " + MEMBER_COUNT + ")")
+                        .executeUpdate());
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createNativeQuery("delete from member where member_id > " + ID_OFFSET).executeUpdate());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 6})
+    void ageRollover(int workers) throws Exception {
+        MemberRangeJobOptions options = new MemberRangeJobOptions(workers, 5_000, MemberRangeJobOptions.DEFAULT_CHUNK_SIZE,
+                MemberRangeJobOptions.DEFAULT_MAX_ATTEMPTS, ID_OFFSET + 1, ID_OFFSET + MEMBER_COUNT);
+        for (int round = 0; round < ROUNDS; round++) {
+            MemberRangeJobProgress result = memberRangeJobRunner
+                    .submit("benchmark", options, member -> member.setAge(member.getAge() + 1))
+                    .getCompletion().get(10, TimeUnit.MINUTES);
+            System.out.println(String.format(Locale.ROOT, "workers=%d members=%d ranges=%d elapsed=%d ms throughput=%.0f members/s",
+                    workers, result.getProcessedMembers(), result.getTotalRanges(), result.getElapsedMillis(),
+                    result.getMembersPerSecond()));
+        }
+    }
+}
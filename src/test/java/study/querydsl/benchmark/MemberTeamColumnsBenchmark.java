@@ -0,0 +1,98 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamColumns;
+import study.querydsl.repository.MemberBulkRepository;
+import study.querydsl.repository.MemberRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+//* 같은 결과를 List<MemberTeamDto>로 들고 있을 때와 MemberTeamColumns로 들고 있을 때의 row당 힙 사용량
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MemberTeamColumnsBenchmark {
+
+    //! Hibernate가 시퀀스로 발급하는 id와 겹치지 않도록 큰 값부터 SQL로 직접 넣음
+    static final long ID_OFFSET = 3_000_000_000L;
+    static final int MEMBER_COUNT = 500_000;
+    static final int TEAM_COUNT = 20;
+    static final int ROUNDS = 3;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    @BeforeAll
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createNativeQuery("insert into team (team_id, name, member_count) "
+                            + "select " + ID_OFFSET + " + x, 'columnsTeam' || x, 0 from system_range(1, " + TEAM_COUNT + ")")
+                    .executeUpdate();
+            //* member_count도 같이 맞춰서 넣음
+            memberBulkRepository.insertNative("insert into member (member_id, username, age, team_id) "
+                            + "select " + ID_OFFSET + " + x, 'columnsMember' || x, mod(x, 100), "
+                            + ID_OFFSET + " + 1 + mod(x, " + TEAM_COUNT + ") from system_range(1, " + MEMBER_COUNT + ")",
+                    ID_OFFSET, ID_OFFSET + MEMBER_COUNT);
+        });
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createNativeQuery("delete from member where member_id > " + ID_OFFSET).executeUpdate();
+            em.createNativeQuery("delete from team where team_id > " + ID_OFFSET).executeUpdate();
+        });
+    }
+
+    @Test
+    void heapPerRow() throws IOException {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        for (int round = 0; round < ROUNDS; round++) {
+            measure("List<MemberTeamDto>", () -> memberRepository.search(condition));
+            MemberTeamColumns columns = measure("MemberTeamColumns", () -> memberRepository.searchColumns(condition));
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            columns.writeTo(new DataOutputStream(bytes));
+            System.out.println(String.format(Locale.ROOT, "%-25s serialized=%d bytes/row",
+                    "MemberTeamColumns", bytes.size() / Math.max(1, columns.size())));
+        }
+    }
+
+    private <T> T measure(String name, Supplier<T> query) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        long start = System.nanoTime();
+        T result = query.get();
+        long elapsedNanos = System.nanoTime() - start;
+        System.gc();
+        long retained = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+        int rows = result instanceof MemberTeamColumns columns ? columns.size() : ((List<?>) result).size();
+        System.out.println(String.format(Locale.ROOT, "%-25s rows=%d query=%d ms heap=%d bytes/row",
+                name, rows, elapsedNanos / 1_000_000, retained / Math.max(1, rows)));
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberCreateRequest;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.service.MemberWriteBehindService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//* 동시 가입 요청 처리량 비교: 요청마다 트랜잭션 vs write-behind group commit
+@Tag("benchmark")
+@SpringBootTest
+class MemberWriteBehindBenchmark {
+
+    static final int REQUESTS = 20_000;
+    static final int CONCURRENCY = 200;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MemberWriteBehindService memberWriteBehindService;
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("delete from Member m where m.username like 'signup%'").executeUpdate());
+    }
+
+    @Test
+    void perRequestTransaction() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        report("per-request transaction", run(i -> {
+            transactionTemplate.executeWithoutResult(status -> memberJpaRepository.save(new Member("signup" + i, 20)));
+            return null;
+        }));
+    }
+
+    @Test
+    void writeBehindGroupCommit() throws Exception {
+        report("write-behind group commit", run(i ->
+                memberWriteBehindService.submit(new MemberCreateRequest("signup" + i, 20, null)).join()));
+    }
+
+    private long run(Request request) throws Exception {
+        // 가입 요청을 보내는 클라이언트를 CONCURRENCY개의 가상 스레드로 흉내냄
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(CONCURRENCY);
+            for (int c = 0; c < CONCURRENCY; c++) {
+                int client = c;
+                futures.add(clients.submit(() -> {
+                    for (int i = client; i < REQUESTS; i += CONCURRENCY) {
+                        request.send(i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        }
+    }
+
+    private void report(String name, long elapsedNanos) {
+        System.out.println(String.format(Locale.ROOT, "%-30s %d inserts in %d ms = %.1f inserts/s",
+                name, REQUESTS, elapsedNanos / 1_000_000, REQUESTS / (elapsedNanos / 1_000_000_000.0)));
+    }
+
+    @FunctionalInterface
+    interface Request {
+        Object send(int i) throws Exception;
+    }
+}
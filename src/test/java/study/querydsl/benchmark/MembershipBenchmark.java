@@ -0,0 +1,77 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.service.MembershipService;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+//* 팀 크기별 회원 1명 가입 비용: 변경 전 changeTeam vs MembershipService(프록시를 초기화하지 않음)
+//? 변경 전에도 inverse 컬렉션 add는 큐에 쌓이므로 members 전체를 읽지는 않음, 차이는 팀 프록시 초기화(팀 SELECT) 한 번
+@Tag("benchmark")
+@SpringBootTest
+class MembershipBenchmark {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MembershipService membershipService;
+
+    Long teamId;
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void joinLargeTeam(int teamSize) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        teamId = tx.execute(status -> {
+            Team team = new Team("largeTeam");
+            em.persist(team);
+            return team.getId();
+        });
+        for (int from = 0; from < teamSize; from += 1_000) {
+            int start = from;
+            tx.executeWithoutResult(status -> {
+                Team team = em.getReference(Team.class, teamId);
+                for (int i = start; i < Math.min(start + 1_000, teamSize); i++) {
+                    em.persist(new Member("large" + i, 20, team));
+                }
+            });
+        }
+
+        AtomicInteger seq = new AtomicInteger();
+        BenchmarkSupport.measure("baseline changeTeam, team=" + teamSize, 20, 200, () ->
+                tx.executeWithoutResult(status -> {
+                    Team team = em.getReference(Team.class, teamId);
+                    Member member = new Member("joined" + seq.incrementAndGet(), 20);
+                    // 변경 전 Member.changeTeam 그대로: this.team = team; team.getMembers().add(this);
+                    member.setTeam(team);
+                    team.getMembers().add(member);
+                    em.persist(member);
+                }));
+        BenchmarkSupport.measure("MembershipService.join, team=" + teamSize, 20, 200, () ->
+                membershipService.join("joined" + seq.incrementAndGet(), 20, teamId));
+    }
+}
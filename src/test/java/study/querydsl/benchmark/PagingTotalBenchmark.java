@@ -0,0 +1,105 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberBulkRepository;
+import study.querydsl.repository.MemberRepository;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+//* 페이지 + 전체 건수: content/count 두 번 왕복(searchPageSimple) vs COUNT(*) OVER() 한 번(searchPageWindow)
+//? count 쿼리의 team 조인 제거 효과도 같이 비교 (조인 유지한 예전 count vs 지금 count)
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PagingTotalBenchmark {
+
+    //! Hibernate가 시퀀스로 발급하는 id와 겹치지 않도록 큰 값부터 SQL로 직접 넣음
+    static final long ID_OFFSET = 6_000_000_000L;
+    static final int MEMBER_COUNT = 200_000;
+    static final int TEAM_COUNT = 20;
+    static final int WARMUP = 50;
+    static final int ITERATIONS = 300;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @BeforeAll
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createNativeQuery("insert into team (team_id, name, member_count) "
+                            + "select " + ID_OFFSET + " + x, 'pagingTeam' || x, 0 from system_range(1, " + TEAM_COUNT + ")")
+                    .executeUpdate();
+            //* member_count도 같이 맞춰서 넣음
+            memberBulkRepository.insertNative("insert into member (member_id, username, age, team_id) "
+                            + "select " + ID_OFFSET + " + x, 'pagingMember' || x, mod(x, 100), "
+                            + ID_OFFSET + " + 1 + mod(x, " + TEAM_COUNT + ") from system_range(1, " + MEMBER_COUNT + ")",
+                    ID_OFFSET, ID_OFFSET + MEMBER_COUNT);
+        });
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createNativeQuery("delete from member where member_id > " + ID_OFFSET).executeUpdate();
+            em.createNativeQuery("delete from team where team_id > " + ID_OFFSET).executeUpdate();
+        });
+    }
+
+    //* 페이지 번호별 (offset이 deferred-join-offset-threshold 이상이면 두 전략 모두 id 쿼리 + IN 조회)
+    @ParameterizedTest
+    @ValueSource(ints = {0, 10, 100})
+    void pageWithTotal(int page) {
+        PageRequest pageable = PageRequest.of(page, 20);
+        MemberSearchCondition ageRange = new MemberSearchCondition();
+        ageRange.setAgeGoe(20);
+        ageRange.setAgeLoe(60);
+        MemberSearchCondition teamName = new MemberSearchCondition();
+        teamName.setTeamName("pagingTeam3");
+
+        for (MemberSearchCondition condition : new MemberSearchCondition[]{ageRange, teamName}) {
+            String label = (condition == ageRange ? "age" : "team") + " page=" + page;
+            BenchmarkSupport.measure("content+count " + label, WARMUP, ITERATIONS,
+                    () -> memberRepository.searchPageSimple(condition, pageable));
+            BenchmarkSupport.measure("count(*) over() " + label, WARMUP, ITERATIONS,
+                    () -> memberRepository.searchPageWindow(condition, pageable));
+        }
+    }
+
+    @Test
+    void countJoinPruning() {
+        int ageGoe = 20;
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(ageGoe);
+
+        BenchmarkSupport.measure("count with team join", WARMUP, ITERATIONS, () -> queryFactory
+                .select(member.count())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.age.goe(ageGoe))
+                .fetchOne());
+        BenchmarkSupport.measure("count pruned", WARMUP, ITERATIONS, () -> memberRepository.searchCount(condition));
+    }
+}
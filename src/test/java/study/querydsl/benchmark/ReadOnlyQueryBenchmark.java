@@ -0,0 +1,92 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.support.DatabaseSnapshots;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+//* 대량 조회 시 읽기 전용 모드가 줄여주는 할당 메모리와 flush 시간 측정
+//! 스냅샷 복원은 DB 전체를 DROP ALL OBJECTS 하므로 다른 테스트와 겹치지 않게 전용 메모리 DB 사용
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:read-only-benchmark;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadOnlyQueryBenchmark {
+
+    static final int MEMBER_COUNT = 100_000;
+    static final int ROUNDS = 5;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    DatabaseSnapshots databaseSnapshots;
+
+    //* embedded 프로파일이면 두 번째 실행부터는 10만 건 insert 대신 스냅샷 복원
+    @BeforeAll
+    void seed() {
+        databaseSnapshots.restoreOrCapture("read-only-benchmark", ReadOnlyQueryBenchmark.class, this::seedMembers);
+    }
+
+    void seedMembers() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < MEMBER_COUNT; from += 1_000) {
+            int start = from;
+            tx.executeWithoutResult(status -> {
+                for (int i = start; i < start + 1_000; i++) {
+                    em.persist(new Member("readOnly" + i, i % 100));
+                }
+            });
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("delete from Member m where m.username like 'readOnly%'").executeUpdate());
+    }
+
+    @Test
+    void findAll() {
+        for (int round = 0; round < ROUNDS; round++) {
+            measure("findAllWithQuerydsl", memberJpaRepository::findAllWithQuerydsl);
+            measure("findAllWithQuerydslReadOnly", memberJpaRepository::findAllWithQuerydslReadOnly);
+        }
+    }
+
+    private void measure(String name, Supplier<List<Member>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long queryStart = System.nanoTime();
+            List<Member> members = query.get();
+            long queryNanos = System.nanoTime() - queryStart;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+            // 커밋 시점 flush와 동일한 비용 (읽기 전용이면 비교할 스냅샷이 없음)
+            long flushStart = System.nanoTime();
+            em.flush();
+            long flushNanos = System.nanoTime() - flushStart;
+
+            System.out.println(String.format(Locale.ROOT, "%-30s rows=%d query=%d ms flush=%.2f ms allocated=%d bytes/row",
+                    name, members.size(), queryNanos / 1_000_000, flushNanos / 1_000_000.0, allocated / Math.max(1, members.size())));
+        });
+    }
+}
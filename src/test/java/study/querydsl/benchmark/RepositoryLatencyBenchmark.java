@@ -0,0 +1,120 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//* TCP/임베디드 모드별 리포지토리 메서드 지연시간 비교
+//? ./gradlew benchmarkTcp (H2 서버 필요) / ./gradlew benchmarkEmbedded
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryLatencyBenchmark {
+
+    static final int MEMBER_COUNT = 1_000;
+    static final int WARMUP = 200;
+    static final int ITERATIONS = 2_000;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Value("${spring.datasource.url}")
+    String url;
+
+    List<Long> memberIds = new ArrayList<>();
+    List<Long> teamIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Team teamA = new Team("benchTeamA");
+            Team teamB = new Team("benchTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            teamIds.add(teamA.getId());
+            teamIds.add(teamB.getId());
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                Member member = new Member("bench" + i, i % 100, i % 2 == 0 ? teamA : teamB);
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id in :teamIds")
+                    .setParameter("teamIds", teamIds)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id in :teamIds")
+                    .setParameter("teamIds", teamIds)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    void repositoryMethods() {
+        System.out.println("=== datasource: " + url);
+
+        Long memberId = memberIds.get(MEMBER_COUNT / 2);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("benchTeamB");
+        condition.setAgeGoe(30);
+        condition.setAgeLoe(40);
+        List<Long> lookupIds = memberIds.subList(0, 100);
+
+        BenchmarkSupport.measure("MemberJpaRepository.findById", WARMUP, ITERATIONS,
+                () -> memberJpaRepository.findById(memberId));
+        BenchmarkSupport.measure("MemberJpaRepository.findAll", WARMUP, ITERATIONS / 10,
+                () -> memberJpaRepository.findAll());
+        BenchmarkSupport.measure("MemberJpaRepository.findAllWithQuerydsl", WARMUP, ITERATIONS / 10,
+                () -> memberJpaRepository.findAllWithQuerydsl());
+        BenchmarkSupport.measure("MemberJpaRepository.findByUsername", WARMUP, ITERATIONS,
+                () -> memberJpaRepository.findByUsername("bench500"));
+        BenchmarkSupport.measure("MemberJpaRepository.findByUsernameWithQuerydsl", WARMUP, ITERATIONS,
+                () -> memberJpaRepository.findByUsernameWithQuerydsl("bench500"));
+        BenchmarkSupport.measure("MemberJpaRepository.searchByBuilder", WARMUP, ITERATIONS,
+                () -> memberJpaRepository.searchByBuilder(condition));
+        BenchmarkSupport.measure("MemberJpaRepository.search", WARMUP, ITERATIONS,
+                () -> memberJpaRepository.search(condition));
+        BenchmarkSupport.measure("MemberQueryRepository.search", WARMUP, ITERATIONS,
+                () -> memberQueryRepository.search(condition));
+        BenchmarkSupport.measure("MemberRepository.findById", WARMUP, ITERATIONS,
+                () -> memberRepository.findById(memberId));
+        BenchmarkSupport.measure("MemberRepository.findByUsername", WARMUP, ITERATIONS,
+                () -> memberRepository.findByUsername("bench500"));
+        BenchmarkSupport.measure("MemberRepository.search", WARMUP, ITERATIONS,
+                () -> memberRepository.search(condition));
+        BenchmarkSupport.measure("MemberRepository.searchPageSimple", WARMUP, ITERATIONS,
+                () -> memberRepository.searchPageSimple(condition, PageRequest.of(1, 5)));
+        BenchmarkSupport.measure("MemberRepository.searchByIds", WARMUP, ITERATIONS,
+                () -> memberRepository.searchByIds(lookupIds));
+    }
+}
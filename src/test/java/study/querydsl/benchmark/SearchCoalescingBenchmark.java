@@ -0,0 +1,118 @@
+package study.querydsl.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.service.MemberSearchCoalescer;
+import study.querydsl.support.QueryMetrics;
+import study.querydsl.support.SingleFlight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//* 같은 검색이 동시에 몰릴 때 합류(single-flight) 전/후 실제로 실행된 Querydsl 쿼리 수와 처리 시간
+//? 쿼리 수는 QueryMetrics 타이머(querydsl.query) 카운트 차이로 셈
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchCoalescingBenchmark {
+
+    //! Hibernate가 시퀀스로 발급하는 id와 겹치지 않도록 큰 값부터 SQL로 직접 넣음
+    static final long ID_OFFSET = 4_000_000_000L;
+    static final int MEMBER_COUNT = 200_000;
+    static final int BURSTS = 20;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    MemberSearchCoalescer memberSearchCoalescer;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeAll
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createNativeQuery("insert into member (member_id, username, age) "
+                                + "select " + ID_OFFSET + " + x, 'coalesce' || x, mod(x, 100) from system_range(1, " + MEMBER_COUNT + ")")
+                        .executeUpdate());
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createNativeQuery("delete from member where member_id > " + ID_OFFSET).executeUpdate());
+    }
+
+    //* 동시 요청 수별: 매 burst마다 같은 조건/페이지 요청을 동시에 출발시킴
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 32, 64})
+    void identicalBurst(int concurrency) throws Exception {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(30);
+        condition.setAgeLoe(40);
+        Pageable pageable = PageRequest.of(10, 20);
+
+        run("direct", concurrency, () -> memberRepository.searchPageSimple(condition, pageable));
+
+        SingleFlight.Stats before = memberSearchCoalescer.pageStats();
+        run("coalesced", concurrency, () -> memberSearchCoalescer.searchPageSimple(condition, pageable));
+        SingleFlight.Stats after = memberSearchCoalescer.pageStats();
+        System.out.println(String.format(Locale.ROOT, "  coalesced concurrency=%d executed=%d joined=%d timedOut=%d",
+                concurrency, after.executed() - before.executed(), after.joined() - before.joined(),
+                after.timedOut() - before.timedOut()));
+    }
+
+    private void run(String name, int concurrency, Runnable search) throws Exception {
+        long queriesBefore = queryCount();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(concurrency)) {
+            for (int burst = 0; burst < BURSTS; burst++) {
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<?>> requests = new ArrayList<>(concurrency);
+                for (int i = 0; i < concurrency; i++) {
+                    requests.add(executor.submit(() -> {
+                        go.await();
+                        search.run();
+                        return null;
+                    }));
+                }
+                go.countDown();
+                for (Future<?> request : requests) {
+                    request.get();
+                }
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long requests = (long) concurrency * BURSTS;
+        long queries = queryCount() - queriesBefore;
+        System.out.println(String.format(Locale.ROOT, "%-10s concurrency=%-3d requests=%-5d queries=%-5d queries/request=%.2f elapsed=%d ms",
+                name, concurrency, requests, queries, (double) queries / requests, elapsedMillis));
+    }
+
+    private long queryCount() {
+        return meterRegistry.find(QueryMetrics.TIMER).timers().stream().mapToLong(Timer::count).sum();
+    }
+}
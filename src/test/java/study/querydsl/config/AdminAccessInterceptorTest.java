@@ -0,0 +1,32 @@
+package study.querydsl.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminAccessInterceptorTest {
+
+    AdminAccessInterceptor interceptor = new AdminAccessInterceptor();
+
+    @Test
+    @DisplayName("loopback 주소는 통과, 그 외에는 403")
+    void onlyLoopback() throws Exception {
+        for (String address : new String[]{"127.0.0.1", "::1"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            assertThat(interceptor.preHandle(request(address), response, new Object())).isTrue();
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("10.0.0.5"), response, new Object())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin/teams/member-count/rebuild");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,88 @@
+package study.querydsl.diagnostics;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.QueryPlanView;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "member.diagnostics.explain.enabled=true")
+class QueryPlanCollectorTest {
+
+    @Autowired
+    QueryPlanCollector queryPlanCollector;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @DisplayName("쿼리 모양별 실행 횟수와 EXPLAIN 결과 수집")
+    void collectPlans() throws InterruptedException {
+        // when
+        memberJpaRepository.findByUsernameWithQuerydsl("member1");
+        memberJpaRepository.findByUsernameWithQuerydsl("member2");
+        memberJpaRepository.findAllWithQuerydsl();
+
+        // then (EXPLAIN은 백그라운드에서 실행되므로 잠시 대기)
+        QueryPlanView byUsername = null;
+        QueryPlanView all = null;
+        for (int i = 0; i < 50 && (byUsername == null || byUsername.getPlan() == null || all == null || all.getPlan() == null); i++) {
+            Thread.sleep(100);
+            byUsername = find("where m1_0.username=?").orElse(null);
+            all = queryPlanCollector.getPlans().stream()
+                    .filter(plan -> plan.getSql().toLowerCase().startsWith("select")
+                            && plan.getSql().toLowerCase().endsWith("from member m1_0"))
+                    .findFirst().orElse(null);
+        }
+
+        assertThat(byUsername).isNotNull();
+        assertThat(byUsername.getExecutions()).isGreaterThanOrEqualTo(2);
+        assertThat(byUsername.getPlan()).containsIgnoringCase("IDX_MEMBER_USERNAME");
+        assertThat(byUsername.isMissingIndex()).isFalse();
+        assertThat(all).isNotNull();
+        assertThat(all.getTableScans()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("JDBC batch로 묶인 INSERT도 묶인 건수만큼 실행 횟수에 포함")
+    void collectBatchedInserts() {
+        // given
+        long before = find("insert into team").map(QueryPlanView::getExecutions).orElse(0L);
+
+        // when (batch_size: 100 이라 한 번의 executeBatch로 나감)
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                em.persist(new Team("planBatch" + i));
+            }
+        });
+
+        // then
+        assertThat(find("insert into team")).get()
+                .extracting(QueryPlanView::getExecutions)
+                .isEqualTo(before + 3);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("delete from Team t where t.name like 'planBatch%'").executeUpdate());
+    }
+
+    private Optional<QueryPlanView> find(String sqlPart) {
+        return queryPlanCollector.getPlans().stream()
+                .filter(plan -> plan.getSql().toLowerCase().contains(sqlPart))
+                .findFirst();
+    }
+}
@@ -0,0 +1,95 @@
+package study.querydsl.dto;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberTeamColumnsTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("컬럼 결과는 DTO 리스트 결과와 같은 값, 팀 이름은 팀마다 한 번만 저장")
+    void searchColumnsTest() {
+        // given
+        Team teamA = new Team("columnsTeamA");
+        Team teamB = new Team("columnsTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("columns1", 10, teamA));
+        em.persist(new Member("columns2", 20, teamB));
+        em.persist(new Member("컬럼3", 30, teamA));
+        em.persist(new Member("columns4", 40));
+        em.persist(new Member(null, 50, teamB));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+
+        // when
+        MemberTeamColumns columns = memberRepository.searchColumns(condition);
+
+        // then
+        List<MemberTeamDto> expected = new ArrayList<>(memberRepository.search(condition));
+        expected.sort(Comparator.comparing(MemberTeamDto::getMemberId));
+        List<MemberTeamDto> actual = new ArrayList<>();
+        for (MemberTeamColumns.RowView row : columns) {
+            actual.add(row.toDto());
+        }
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual).extracting("username").contains("컬럼3", null);
+        assertThat((long) columns.teamCount()).isEqualTo(
+                expected.stream().map(MemberTeamDto::getTeamId).filter(Objects::nonNull).distinct().count());
+    }
+
+    @Test
+    @DisplayName("직렬화 후 읽어도 같은 값")
+    void serializeTest() throws Exception {
+        // given
+        MemberTeamColumns columns = MemberTeamColumns.builder()
+                .add(1L, "member1", 10, 100L, "teamA")
+                .add(2L, null, 20, null, null)
+                .add(3L, "회원3", 30, 100L, "teamA")
+                .add(4L, "", 40, 200L, "teamB")
+                .build();
+
+        // when
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        columns.writeTo(new DataOutputStream(bytes));
+        MemberTeamColumns read = MemberTeamColumns.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // then
+        assertThat(read.size()).isEqualTo(4);
+        assertThat(read.teamCount()).isEqualTo(2);
+        for (int row = 0; row < columns.size(); row++) {
+            assertThat(read.toDto(row)).isEqualTo(columns.toDto(row));
+        }
+        assertThat(read.getUsername(1)).isNull();
+        assertThat(read.getUsername(2)).isEqualTo("회원3");
+        assertThat(read.getUsername(3)).isEmpty();
+        assertThat(read.getTeamName(1)).isNull();
+    }
+}
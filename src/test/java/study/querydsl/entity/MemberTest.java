@@ -1,6 +1,7 @@
 package study.querydsl.entity;
 
 import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 
 @SpringBootTest
 @Transactional
@@ -51,4 +54,81 @@ class MemberTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("팀 변경 시 로딩되지 않은 Team.members는 초기화하지 않음")
+    void changeTeamWithoutInitializingMembers() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member2", 20, teamA));
+
+        em.flush();
+        em.clear();
+
+        // when
+        Team findTeamA = em.find(Team.class, teamA.getId());
+        Team teamBProxy = em.getReference(Team.class, teamB.getId());
+        em.persist(new Member("member3", 30, findTeamA));
+        em.find(Member.class, member1.getId()).changeTeam(teamBProxy);
+        em.flush();
+
+        // then
+        assertThat(Hibernate.isInitialized(findTeamA.getMembers())).isFalse();
+        assertThat(Hibernate.isInitialized(teamBProxy)).isFalse();
+
+        em.clear();
+        assertThat(em.find(Team.class, teamA.getId()).getMembers()).extracting("username")
+                .containsExactlyInAnyOrder("member2", "member3");
+        assertThat(em.find(Team.class, teamB.getId()).getMembers()).extracting("username")
+                .containsExactly("member1");
+    }
+
+    @Test
+    @DisplayName("초기화된 Team이면 로딩 전 members에도 추가가 예약되어, 나중에 로딩하면 옮긴 회원이 보임")
+    void changeTeamQueuesAddOnManagedTeam() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member2", 20, teamB));
+
+        em.flush();
+        em.clear();
+
+        // when
+        Team findTeamB = em.find(Team.class, teamB.getId());
+        Member findMember1 = em.find(Member.class, member1.getId());
+        findMember1.changeTeam(findTeamB);
+
+        // then: add는 SELECT 없이 예약만 되고, flush 전에 컬렉션을 로딩해도 옮긴 회원이 포함됨
+        assertThat(Hibernate.isInitialized(findTeamB.getMembers())).isFalse();
+        assertThat(findTeamB.getMembers()).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2");
+    }
+
+    @Test
+    @DisplayName("이미 로딩된 Team.members는 팀 변경 시 함께 갱신")
+    void changeTeamWithLoadedMembers() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+
+        // when
+        member1.changeTeam(teamB);
+
+        // then
+        assertThat(teamA.getMembers()).isEmpty();
+        assertThat(teamB.getMembers()).containsExactly(member1);
+    }
+}
@@ -0,0 +1,200 @@
+package study.querydsl.job;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberRangeJobProgress;
+import study.querydsl.entity.JobRun;
+import study.querydsl.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//! 범위마다 별도 트랜잭션/스레드로 커밋하므로 데이터를 커밋해두고 직접 정리
+@SpringBootTest
+class MemberRangeJobRunnerTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberRangeJobRunner memberRangeJobRunner;
+
+    List<Long> memberIds = new ArrayList<>();
+
+    @BeforeEach
+    void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < 50; i++) {
+                Member member = new Member("job" + i, 10);
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.id in :ids")
+                    .setParameter("ids", memberIds)
+                    .executeUpdate();
+            em.createQuery("delete from JobRun r where r.runKey like 'test:%'").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("id 범위를 나눠 병렬로 처리하고 모든 회원을 한 번씩 처리")
+    void processAllRanges() throws Exception {
+        // when
+        MemberRangeJobProgress result = run(member -> member.setAge(member.getAge() + 1));
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getTotalRanges()).isEqualTo(5);
+        assertThat(result.getCompletedRanges()).isEqualTo(5);
+        assertThat(result.getProcessedMembers()).isEqualTo(50);
+        assertThat(ages()).containsOnly(11);
+    }
+
+    @Test
+    @DisplayName("실패한 범위는 롤백 후 다시 시도해서 한 번만 반영")
+    void retryFailedRange() throws Exception {
+        // given
+        Long failingId = memberIds.get(15);
+        AtomicBoolean failed = new AtomicBoolean();
+
+        // when
+        MemberRangeJobProgress result = run(member -> {
+            member.setAge(member.getAge() + 1);
+            if (member.getId().equals(failingId) && failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("일시적 실패");
+            }
+        });
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getRetriedRanges()).isEqualTo(1);
+        assertThat(result.getProcessedMembers()).isEqualTo(50);
+        assertThat(ages()).containsOnly(11);
+    }
+
+    @Test
+    @DisplayName("재시도까지 실패한 범위만 남기고, retryFailed로 그 범위만 다시 실행")
+    void failedRangeCanBeRetried() throws Exception {
+        // given
+        Long failingId = memberIds.get(15);
+        AtomicBoolean broken = new AtomicBoolean(true);
+        MemberRangeJobOptions options = new MemberRangeJobOptions(4, 10, 3, 2, memberIds.get(0), memberIds.get(49));
+        MemberRangeJob job = memberRangeJobRunner.submit("test", options, member -> {
+            if (member.getId().equals(failingId) && broken.get()) {
+                throw new IllegalStateException("계속 실패");
+            }
+            member.setAge(member.getAge() + 1);
+        });
+        MemberRangeJobProgress result = job.getCompletion().get(30, TimeUnit.SECONDS);
+
+        // when
+        broken.set(false);
+        MemberRangeJobProgress retried = memberRangeJobRunner.retryFailed(job.getId()).orElseThrow()
+                .getCompletion().get(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getFailedRanges()).hasSize(1);
+        assertThat(result.getProcessedMembers()).isEqualTo(40);
+        assertThat(retried.getStatus()).isEqualTo("COMPLETED");
+        assertThat(retried.getTotalRanges()).isEqualTo(1);
+        assertThat(retried.getProcessedMembers()).isEqualTo(10);
+        assertThat(ages()).containsOnly(11);
+        assertThatThrownBy(() -> memberRangeJobRunner.retryFailed(job.getId()))
+                .isInstanceOf(MemberRangeJobConflictException.class);
+    }
+
+    @Test
+    @DisplayName("워커가 Error로 죽으면 처리하지 못한 범위는 모두 실패로 남음")
+    void deadWorkerLeavesRangesFailed() throws Exception {
+        // given: 워커 하나, 두 번째 범위에서 Error
+        Long failingId = memberIds.get(15);
+        MemberRangeJobOptions options = new MemberRangeJobOptions(1, 10, 3, 3, memberIds.get(0), memberIds.get(49));
+
+        // when
+        MemberRangeJobProgress result = memberRangeJobRunner.submit("test", options, member -> {
+            if (member.getId().equals(failingId)) {
+                throw new Error("복구 불가");
+            }
+        }).getCompletion().get(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getCompletedRanges()).isEqualTo(1);
+        assertThat(result.getFailedRanges()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("같은 이름의 작업이 실행 중이면 시작하지 않음")
+    void rejectSameNameWhileRunning() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        MemberRangeJobOptions options = new MemberRangeJobOptions(1, 100, 10, 1, memberIds.get(0), memberIds.get(49));
+        MemberRangeJob running = memberRangeJobRunner.submit("test", options, member -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // when, then
+        assertThatThrownBy(() -> memberRangeJobRunner.submit("test", options, member -> {
+        })).isInstanceOf(MemberRangeJobConflictException.class);
+        release.countDown();
+        assertThat(running.getCompletion().get(30, TimeUnit.SECONDS).getStatus()).isEqualTo("COMPLETED");
+        assertThat(memberRangeJobRunner.submit("test", options, member -> {
+        }).getCompletion().get(30, TimeUnit.SECONDS).getStatus()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    @DisplayName("runKey로 끝난 작업은 같은 키로 다시 실행하지 않음")
+    void runKeyRunsOnce() throws Exception {
+        // given
+        MemberRangeJobOptions options = new MemberRangeJobOptions(4, 10, 3, 3, memberIds.get(0), memberIds.get(49));
+        MemberRangeJobProgress first = memberRangeJobRunner.submit("test", "test:2026-10-18", options,
+                member -> member.setAge(member.getAge() + 1)).getCompletion().get(30, TimeUnit.SECONDS);
+
+        // when, then
+        assertThatThrownBy(() -> memberRangeJobRunner.submit("test", "test:2026-10-18", options,
+                member -> member.setAge(member.getAge() + 1))).isInstanceOf(MemberRangeJobConflictException.class);
+        assertThat(first.getStatus()).isEqualTo("COMPLETED");
+        assertThat(ages()).containsOnly(11);
+        JobRun run = new TransactionTemplate(transactionManager).execute(status -> em.find(JobRun.class, "test:2026-10-18"));
+        assertThat(run.getStatus()).isEqualTo("COMPLETED");
+        assertThat(run.getJobId()).isEqualTo(first.getJobId());
+    }
+
+    private MemberRangeJobProgress run(MemberTask task) throws Exception {
+        //* 10개씩 5개 범위, 청크 3건씩 flush/clear
+        MemberRangeJobOptions options = new MemberRangeJobOptions(4, 10, 3, 3, memberIds.get(0), memberIds.get(49));
+        return memberRangeJobRunner.submit("test", options, task).getCompletion().get(30, TimeUnit.SECONDS);
+    }
+
+    private List<Integer> ages() {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                em.createQuery("select m.age from Member m where m.id in :ids", Integer.class)
+                        .setParameter("ids", memberIds)
+                        .getResultList());
+    }
+}
@@ -0,0 +1,135 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.service.TeamMemberCountService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+//! member_count는 커밋 시점 값을 봐야 하므로 트랜잭션을 나눠서 검증하고 직접 정리
+@SpringBootTest
+class MemberBulkRepositoryTest {
+
+    //! Hibernate가 시퀀스로 발급하는 id와 겹치지 않도록 큰 값부터 SQL로 직접 넣음
+    static final long ID_OFFSET = 8_000_000_000L;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+    @Autowired
+    TeamMemberCountService teamMemberCountService;
+
+    TransactionTemplate tx;
+    Long teamAId;
+    Long teamBId;
+
+    @BeforeEach
+    void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("bulkTeamA");
+            Team teamB = new Team("bulkTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+            for (int i = 0; i < 10; i++) {
+                em.persist(new Member("bulk" + i, i * 10, i < 6 ? teamA : teamB));
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createNativeQuery("delete from member where member_id > " + ID_OFFSET).executeUpdate();
+            em.createQuery("delete from Member m where m.username like 'bulk%'").executeUpdate();
+            em.createQuery("delete from Team t where t.id in :teamIds")
+                    .setParameter("teamIds", List.of(teamAId, teamBId))
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("bulk 삭제 후 팀별 member_count가 남은 회원 수와 같음")
+    void deleteWhere() {
+        // when: age >= 20 → teamA 4명, teamB 4명 삭제
+        long deleted = memberBulkRepository.deleteWhere(member.username.startsWith("bulk").and(member.age.goe(20)));
+
+        // then
+        assertThat(deleted).isEqualTo(8);
+        assertThat(memberCount(teamAId)).isEqualTo(2);
+        assertThat(memberCount(teamBId)).isZero();
+        assertThat(teamMemberCountService.findMismatches()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("팀 이름 조건으로 bulk 삭제")
+    void deleteWhereTeamName() {
+        // when
+        long deleted = memberBulkRepository.deleteWhere(member.team.name.eq("bulkTeamB"));
+
+        // then
+        assertThat(deleted).isEqualTo(4);
+        assertThat(memberCount(teamAId)).isEqualTo(6);
+        assertThat(memberCount(teamBId)).isZero();
+        assertThat(teamMemberCountService.findMismatches()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("bulk 팀 변경은 원래 팀에서 빼고 새 팀에 더함")
+    void changeTeam() {
+        // when: age >= 30 (teamA 3명, teamB 4명) 중 이미 teamB인 회원은 건너뜀
+        long moved = memberBulkRepository.changeTeam(member.username.startsWith("bulk").and(member.age.goe(30)), teamBId);
+
+        // then
+        assertThat(moved).isEqualTo(3);
+        assertThat(memberCount(teamAId)).isEqualTo(3);
+        assertThat(memberCount(teamBId)).isEqualTo(7);
+        assertThat(teamMemberCountService.findMismatches()).isEmpty();
+
+        // when: 소속 해제
+        memberBulkRepository.changeTeam(member.team.id.eq(teamAId), null);
+
+        // then
+        assertThat(memberCount(teamAId)).isZero();
+        assertThat(teamMemberCountService.findMismatches()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("네이티브 bulk 삽입 후 새 행의 팀별 건수를 더함")
+    void insertNative() {
+        // when
+        long inserted = memberBulkRepository.insertNative("insert into member (member_id, username, age, team_id) "
+                        + "select " + ID_OFFSET + " + x, 'bulkNative' || x, 0, "
+                        + "case when mod(x, 3) = 0 then " + teamAId + " else " + teamBId + " end from system_range(1, 30)",
+                ID_OFFSET, ID_OFFSET + 30);
+
+        // then
+        assertThat(inserted).isEqualTo(30);
+        assertThat(memberCount(teamAId)).isEqualTo(16);
+        assertThat(memberCount(teamBId)).isEqualTo(24);
+        assertThat(teamMemberCountService.findMismatches()).isEmpty();
+    }
+
+    private long memberCount(Long teamId) {
+        return tx.execute(status -> em.createQuery("select t.memberCount from Team t where t.id = :teamId", Long.class)
+                .setParameter("teamId", teamId)
+                .getSingleResult());
+    }
+}
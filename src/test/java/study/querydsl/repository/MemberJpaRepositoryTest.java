@@ -3,6 +3,10 @@ package study.querydsl.repository;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -79,4 +83,74 @@ class MemberJpaRepositoryTest {
         // then
         assertThat(result).extracting("username").containsExactly("member4");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("읽기 전용 조회는 dirty checking 대상이 아님")
+    void readOnlyTest() {
+        // given
+        Member member = new Member("member1", 10);
+        memberJpaRepository.save(member);
+        em.flush();
+        em.clear();
+
+        // when
+        List<Member> result = memberJpaRepository.findByUsernameWithQuerydslReadOnly("member1");
+        Member findMember = result.get(0);
+        boolean readOnly = em.unwrap(Session.class).isReadOnly(findMember);
+        findMember.setAge(99);
+        em.flush();
+        em.clear();
+
+        // then
+        assertThat(readOnly).isTrue();
+        assertThat(memberJpaRepository.findById(member.getId()).orElseThrow().getAge()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("fetch plan: member-only는 team 프록시 유지, member-with-team(-batch)은 team까지 로딩")
+    void fetchPlanTest() {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        Member member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member1", 20, teamA));
+        em.flush();
+        em.clear();
+
+        // when
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        List<Member> memberOnly;
+        List<Member> batch;
+        Member withTeam;
+        long memberOnlyStatements;
+        long batchStatements;
+        long withTeamStatements;
+        try {
+            statistics.clear();
+            memberOnly = memberJpaRepository.findByUsername("member1", MemberFetchPlan.MEMBER_ONLY);
+            memberOnlyStatements = statistics.getPrepareStatementCount();
+            em.clear();
+            statistics.clear();
+            batch = memberJpaRepository.findByUsername("member1", MemberFetchPlan.MEMBER_WITH_TEAM_BATCH);
+            batchStatements = statistics.getPrepareStatementCount();
+            em.clear();
+            statistics.clear();
+            withTeam = memberJpaRepository.findById(member1.getId(), MemberFetchPlan.MEMBER_WITH_TEAM).orElseThrow();
+            withTeamStatements = statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        // then
+        assertThat(memberOnly).hasSize(2).noneMatch(m -> Hibernate.isInitialized(m.getTeam()));
+        assertThat(batch).hasSize(2).allMatch(m -> Hibernate.isInitialized(m.getTeam()));
+        assertThat(Hibernate.isInitialized(withTeam.getTeam())).isTrue();
+        assertThat(withTeam.getTeam().getName()).isEqualTo("teamA");
+        //* member-only/member-with-team은 쿼리 1번, batch는 회원 1번 + 팀 1번
+        assertThat(memberOnlyStatements).isEqualTo(1);
+        assertThat(batchStatements).isEqualTo(2);
+        assertThat(withTeamStatements).isEqualTo(1);
+    }
+}
@@ -1,23 +1,32 @@
 package study.querydsl.repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.support.QueryMetrics;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
 
 @SpringBootTest
 @Transactional
@@ -29,6 +38,9 @@ class MemberRepositoryTest {
     @Autowired
     MemberRepository memberRepository;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     @DisplayName("기본 JPA 테스트")
     void basicTest() {
@@ -112,6 +124,209 @@ class MemberRepositoryTest {
         assertThat(result.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
     }
 
+    @Test
+    @DisplayName("searchPageSimple 정렬 테스트")
+    void searchPageSimpleSortTest() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        // when
+        Page<MemberTeamDto> byAgeDesc = memberRepository.searchPageSimple(condition,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "age")));
+        Page<MemberTeamDto> byTeamNameDesc = memberRepository.searchPageSimple(condition,
+                PageRequest.of(0, 4, Sort.by(Sort.Direction.DESC, "teamName")));
+
+        // then
+        assertThat(byAgeDesc.getContent()).extracting("username").containsExactly("member4", "member3", "member2");
+        //* 같은 팀 안에서는 tie-breaker(member.id asc)로 순서가 고정됨
+        assertThat(byTeamNameDesc.getContent()).extracting("username").containsExactly("member3", "member4", "member1", "member2");
+        assertThatThrownBy(() -> memberRepository.searchPageSimple(condition, PageRequest.of(0, 3, Sort.by("team.members"))))
+                .isInstanceOf(InvalidSortPropertyException.class);
+    }
+
+    @Test
+    @DisplayName("searchPageSimple deferred join 테스트 (offset >= threshold)")
+    void searchPageSimpleDeferredJoinTest() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50, teamB));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        MemberSearchCondition teamBCondition = new MemberSearchCondition();
+        teamBCondition.setTeamName("teamB");
+
+        // when (test 프로파일의 threshold = 2)
+        Page<MemberTeamDto> byAgeDesc = memberRepository.searchPageSimple(condition,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "age")));
+        Page<MemberTeamDto> teamBPage = memberRepository.searchPageSimple(teamBCondition, PageRequest.of(1, 2));
+
+        // then
+        assertThat(byAgeDesc.getContent()).extracting("username").containsExactly("member3", "member2");
+        assertThat(byAgeDesc.getContent()).extracting("teamName").containsExactly("teamB", "teamA");
+        assertThat(byAgeDesc.getTotalElements()).isEqualTo(5);
+        assertThat(teamBPage.getContent()).extracting("username").containsExactly("member5");
+        assertThat(teamBPage.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("searchPageWindow: COUNT(*) OVER()로 구한 전체 건수가 count 쿼리와 같음")
+    void searchPageWindowTest() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50, teamB));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        MemberSearchCondition teamBCondition = new MemberSearchCondition();
+        teamBCondition.setTeamName("teamB");
+
+        // when (test 프로파일의 threshold = 2 이므로 page 1부터 deferred join 경로)
+        Page<MemberTeamDto> firstPage = memberRepository.searchPageWindow(condition, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "age")));
+        Page<MemberTeamDto> deferredPage = memberRepository.searchPageWindow(teamBCondition, PageRequest.of(1, 2));
+        Page<MemberTeamDto> pastLastPage = memberRepository.searchPageWindow(condition, PageRequest.of(9, 2));
+
+        // then
+        assertThat(firstPage.getContent()).extracting("username").containsExactly("member5", "member4");
+        assertThat(firstPage.getContent()).extracting("teamName").containsExactly("teamB", "teamB");
+        assertThat(firstPage.getTotalElements()).isEqualTo(5);
+        assertThat(deferredPage.getContent()).extracting("username").containsExactly("member5");
+        assertThat(deferredPage.getTotalElements()).isEqualTo(3);
+        assertThat(pastLastPage.getContent()).isEmpty();
+        assertThat(pastLastPage.getTotalElements()).isEqualTo(5);
+        assertThat(memberRepository.searchCount(teamBCondition)).isEqualTo(3);
+        //* team 조건이 없으면 count 쿼리(JPQL)에서 team 조인을 뺌
+        assertThat(executedQueries(() -> memberRepository.searchCount(condition)))
+                .singleElement().asString().contains("count(").doesNotContainIgnoringCase("join");
+        assertThat(executedQueries(() -> memberRepository.searchCount(teamBCondition)))
+                .singleElement().asString().containsIgnoringCase("left join");
+    }
+
+    @Test
+    @DisplayName("fetch plan: 호출마다 team을 같이 가져올지 고르고, plan별로 메트릭 기록")
+    void fetchPlanTest() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.flush();
+        em.clear();
+
+        // when
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        List<Member> memberOnly;
+        List<Member> withTeam;
+        List<Member> batch;
+        Member byId;
+        Page<Member> page;
+        long[] statements = new long[5];
+        try {
+            statistics.clear();
+            memberOnly = memberRepository.findAll(member.age.goe(10), MemberFetchPlan.MEMBER_ONLY);
+            statements[0] = statistics.getPrepareStatementCount();
+            em.clear();
+            statistics.clear();
+            withTeam = memberRepository.findByUsername("member3", MemberFetchPlan.MEMBER_WITH_TEAM);
+            statements[1] = statistics.getPrepareStatementCount();
+            em.clear();
+            statistics.clear();
+            batch = memberRepository.findAll(member.age.goe(10), MemberFetchPlan.MEMBER_WITH_TEAM_BATCH);
+            statements[2] = statistics.getPrepareStatementCount();
+            em.clear();
+            statistics.clear();
+            byId = memberRepository.findById(member1.getId(), MemberFetchPlan.MEMBER_WITH_TEAM).orElseThrow();
+            statements[3] = statistics.getPrepareStatementCount();
+            em.clear();
+            statistics.clear();
+            page = memberRepository.findAll(member.age.goe(10), PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "teamName")),
+                    MemberFetchPlan.MEMBER_WITH_TEAM);
+            statements[4] = statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        // then
+        //* batch는 팀 2개를 IN 쿼리 한 번으로, teamName 정렬 페이지는 fetch join 한 번 + count 쿼리
+        assertThat(statements).containsExactly(1, 1, 2, 1, 2);
+        assertThat(page.getContent()).allMatch(m -> Hibernate.isInitialized(m.getTeam()));
+        assertThat(memberOnly).hasSize(3).noneMatch(m -> Hibernate.isInitialized(m.getTeam()));
+        assertThat(withTeam).singleElement().satisfies(m -> assertThat(Hibernate.isInitialized(m.getTeam())).isTrue());
+        assertThat(batch).hasSize(3).allMatch(m -> Hibernate.isInitialized(m.getTeam()));
+        assertThat(batch).extracting(m -> m.getTeam().getName()).containsOnly("teamA", "teamB");
+        assertThat(Hibernate.isInitialized(byId.getTeam())).isTrue();
+        assertThat(page.getContent()).extracting("username").containsExactly("member3", "member1");
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(meterRegistry.find(QueryMetrics.FETCH_PLAN).tag("plan", "member-with-team-batch").timer()).isNotNull();
+        assertThat(meterRegistry.find(QueryMetrics.FETCH_PLAN).tag("plan", "member-only").timer()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("fetch plan 페이지: team 별칭 조건이면 content/count 쿼리 모두 team을 조인하고 건수가 맞음")
+    void fetchPlanPageWithTeamPredicate() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamB));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50));
+        em.flush();
+        em.clear();
+
+        // when
+        List<Page<Member>> pages = new ArrayList<>();
+        List<String> queries = executedQueries(() -> pages.add(memberRepository.findAll(
+                team.name.eq("teamB"), PageRequest.of(0, 2), MemberFetchPlan.MEMBER_ONLY)));
+        Page<Member> fetchJoined = memberRepository.findAll(team.name.eq("teamB").and(member.age.goe(30)), PageRequest.of(0, 1),
+                MemberFetchPlan.MEMBER_WITH_TEAM);
+        List<Member> all = memberRepository.findAll(team.name.eq("teamA"), MemberFetchPlan.MEMBER_WITH_TEAM_BATCH);
+
+        // then
+        assertThat(pages.get(0).getContent()).extracting("username").containsExactly("member2", "member3");
+        assertThat(pages.get(0).getTotalElements()).isEqualTo(3);
+        assertThat(queries).hasSize(2).allSatisfy(query -> assertThat(query).containsIgnoringCase("join"));
+        assertThat(fetchJoined.getContent()).extracting("username").containsExactly("member3");
+        assertThat(fetchJoined.getContent()).allMatch(m -> Hibernate.isInitialized(m.getTeam()));
+        assertThat(fetchJoined.getTotalElements()).isEqualTo(2);
+        assertThat(all).extracting("username").containsExactly("member1");
+    }
+
     @Test
     @DisplayName("queryPredicateExecutor 테스트")
     void querydslPredicateExecutorTest() {
@@ -140,4 +355,17 @@ class MemberRepositoryTest {
             System.out.println("member1 = " + findMember);
         }
     }
-}
\ No newline at end of file
+
+    //* 호출 하나가 실행한 JPQL (Hibernate Statistics)
+    private List<String> executedQueries(Runnable call) {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            call.run();
+            return List.of(statistics.getQueries());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
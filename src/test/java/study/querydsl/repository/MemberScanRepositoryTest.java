@@ -0,0 +1,102 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.ScanResult;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//! StatelessSession은 별도 커넥션으로 읽으므로 데이터를 커밋해두고 직접 정리
+@SpringBootTest
+class MemberScanRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MemberScanRepository memberScanRepository;
+
+    List<Long> memberIds = new ArrayList<>();
+    Long teamId;
+
+    @BeforeEach
+    void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Team team = new Team("scanTeam");
+            em.persist(team);
+            teamId = team.getId();
+            for (int i = 0; i < 5; i++) {
+                Member member = new Member("scan" + i, i, i % 2 == 0 ? team : null);
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.id in :ids")
+                    .setParameter("ids", memberIds)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("id 순서로 청크 단위 스캔, team fetch join")
+    void scanChunksTest() {
+        // given
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> teamNames = new ArrayList<>();
+
+        // when
+        ScanResult result = memberScanRepository.scanChunks(memberIds.get(0) - 1, 2, true, chunk -> {
+            chunks.add(chunk.stream().map(Member::getUsername).filter(name -> name.startsWith("scan")).toList());
+            chunk.forEach(member -> teamNames.add(member.getTeam() != null ? member.getTeam().getName() : null));
+        });
+
+        // then
+        assertThat(chunks.subList(0, 3)).containsExactly(List.of("scan0", "scan1"), List.of("scan2", "scan3"), List.of("scan4"));
+        assertThat(teamNames.subList(0, 5)).containsExactly("scanTeam", null, "scanTeam", null, "scanTeam");
+        assertThat(result.getScanned()).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("실패한 지점의 lastMemberId부터 재시작")
+    void resumeTest() {
+        // given
+        List<String> visited = new ArrayList<>();
+
+        // when
+        assertThatThrownBy(() -> memberScanRepository.scan(memberIds.get(0) - 1, false, member -> {
+            if (member.getUsername().equals("scan2")) {
+                throw new IllegalStateException("처리 실패");
+            }
+            visited.add(member.getUsername());
+        }))
+                .isInstanceOf(MemberScanException.class)
+                .extracting("lastMemberId").isEqualTo(memberIds.get(1));
+
+        memberScanRepository.scan(memberIds.get(1), false, member -> visited.add(member.getUsername()));
+
+        // then
+        assertThat(visited.subList(0, 5)).containsExactly("scan0", "scan1", "scan2", "scan3", "scan4");
+    }
+}
@@ -0,0 +1,75 @@
+package study.querydsl.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.BulkUpdateResult;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//! 청크마다 커밋되는 것을 확인해야 해서 @Transactional을 붙이지 않고 직접 정리한다
+@SpringBootTest
+class MemberBulkUpdateServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberBulkUpdateService memberBulkUpdateService;
+
+    Long teamId;
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("청크 단위 나이 증가")
+    void incrementAgeByTeamTest() {
+        // given
+        teamId = new TransactionTemplate(transactionManager).execute(status -> {
+            Team bulkTeam = new Team("bulkTeam");
+            em.persist(bulkTeam);
+            for (int i = 0; i < 5; i++) {
+                em.persist(new Member("bulk" + i, 10, bulkTeam));
+            }
+            return bulkTeam.getId();
+        });
+
+        // when
+        List<BulkUpdateResult> progress = new ArrayList<>();
+        BulkUpdateResult result = memberBulkUpdateService.incrementAgeByTeam(teamId, 3, 2, null, progress::add);
+
+        // then
+        assertThat(result.getTotalUpdated()).isEqualTo(5);
+        assertThat(result.getChunks()).isEqualTo(3);
+        assertThat(progress).extracting(BulkUpdateResult::getTotalUpdated).containsExactly(2L, 4L, 5L);
+
+        List<Integer> ages = new TransactionTemplate(transactionManager).execute(status ->
+                em.createQuery("select m.age from Member m where m.team.id = :teamId", Integer.class)
+                        .setParameter("teamId", teamId)
+                        .getResultList());
+        assertThat(ages).hasSize(5).containsOnly(13);
+    }
+}
@@ -0,0 +1,66 @@
+package study.querydsl.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberLookupServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberLookupService memberLookupService;
+
+    @Test
+    @DisplayName("id 목록 순서대로 조회, 없는 id는 제외")
+    void findByIdsTest() {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamA);
+        Member member3 = new Member("member3", 30);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+
+        // when
+        List<MemberTeamDto> result = memberLookupService.findByIds(
+                Arrays.asList(member3.getId(), -1L, member1.getId(), null, member2.getId()));
+
+        // then
+        assertThat(result).extracting("username").containsExactly("member3", "member1", "member2");
+        assertThat(result).extracting("teamName").containsExactly(null, "teamA", "teamA");
+    }
+
+    @Test
+    @DisplayName("중복 제거 후 MAX_CHUNK_SIZE 단위로 분할")
+    void chunkTest() {
+        // given
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, 2500).boxed().toList());
+        ids.add(1L);
+
+        // when
+        List<List<Long>> chunks = MemberLookupService.chunk(ids);
+
+        // then
+        assertThat(chunks).extracting(List::size).containsExactly(1024, 1024, 452);
+    }
+}
@@ -0,0 +1,111 @@
+package study.querydsl.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberPage;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberPageServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberPageService memberPageService;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+    @Autowired
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+
+    @BeforeEach
+    void before() {
+        Team teamA = new Team("pageTeamA");
+        em.persist(teamA);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("page" + i, 60 + i, i % 2 == 0 ? teamA : null));
+        }
+        condition.setAgeGoe(60);
+        condition.setAgeLoe(64);
+    }
+
+    @Test
+    @DisplayName("스트리밍 응답은 JSON/Smile/CBOR 모두 MemberPage와 같은 내용")
+    void streamPageTest() throws Exception {
+        // given
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by("age"));
+        //! valueToTree는 Long을 LongNode로 만들어서 파싱한 트리(IntNode)와 달라지므로 직렬화 후 다시 파싱해서 비교
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsBytes(memberPageService.page(condition, pageRequest)));
+
+        for (ObjectMapper mapper : new ObjectMapper[]{objectMapper,
+                smileHttpMessageConverter.getObjectMapper(), cborHttpMessageConverter.getObjectMapper()}) {
+            // when
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            memberPageService.streamPage(condition, pageRequest, mapper, out);
+
+            // then
+            assertThat(mapper.readTree(out.toByteArray())).isEqualTo(expected);
+        }
+        assertThat(expected.get("totalElements").asLong()).isEqualTo(5);
+        assertThat(expected.get("content")).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("마지막 페이지는 count 쿼리 없이 offset + 읽은 건수로 전체 건수 계산")
+    void lastPageTotalTest() throws Exception {
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        memberPageService.streamPage(condition, PageRequest.of(1, 3, Sort.by("age")), objectMapper, out);
+
+        // then
+        MemberPage page = memberPageService.page(condition, PageRequest.of(1, 3, Sort.by("age")));
+        JsonNode streamed = objectMapper.readTree(out.toByteArray());
+        assertThat(streamed.get("totalElements").asLong()).isEqualTo(page.getTotalElements()).isEqualTo(5);
+        assertThat(streamed.get("content")).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("CHUNK_SIZE보다 큰 페이지도 청크를 이어 붙여 정렬 순서대로 씀")
+    void multiChunkTest() throws Exception {
+        // given
+        int extra = MemberPageService.CHUNK_SIZE + 10;
+        for (int i = 0; i < extra; i++) {
+            em.persist(new Member("chunk" + i, 1000 + i));
+        }
+        em.flush();
+        MemberSearchCondition chunkCondition = new MemberSearchCondition();
+        chunkCondition.setAgeGoe(1000);
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        memberPageService.streamPage(chunkCondition, PageRequest.of(0, 1000, Sort.by("age")), objectMapper, out);
+
+        // then
+        JsonNode streamed = objectMapper.readTree(out.toByteArray());
+        assertThat(streamed.get("content")).hasSize(extra);
+        assertThat(streamed.get("content").get(0).get("age").asInt()).isEqualTo(1000);
+        assertThat(streamed.get("content").get(extra - 1).get("age").asInt()).isEqualTo(1000 + extra - 1);
+        assertThat(streamed.get("totalElements").asLong()).isEqualTo(extra);
+    }
+}
@@ -0,0 +1,131 @@
+package study.querydsl.service;
+
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.support.QueryMetrics;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static study.querydsl.entity.QMember.member;
+
+//* 실제 소켓으로 요청을 보내고 검색 도중 연결을 끊어서, 시간 제한(v1-ms)보다 훨씬 먼저 쿼리가 취소되는지 확인
+//! 커밋된 데이터가 필요해서 트랜잭션 롤백 대신 직접 정리
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "member.query-timeout.v1-ms=60000",
+        "member.query-timeout.disconnect-poll-ms=100"
+})
+class MemberQueryGuardTest {
+
+    static final int MEMBER_COUNT = 5_000;
+
+    @LocalServerPort
+    int port;
+
+    @MockitoSpyBean
+    MemberSearchCoalescer memberSearchCoalescer;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    DataSource dataSource;
+
+    //* row마다 잠깐 멈추는 H2 함수 (전체 스캔이면 MEMBER_COUNT * 5ms 동안 실행됨)
+    public static int sleep(int millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return 1;
+    }
+
+    @BeforeEach
+    void before() {
+        new JdbcTemplate(dataSource).execute(
+                "CREATE ALIAS IF NOT EXISTS QUERY_GUARD_SLEEP FOR '" + MemberQueryGuardTest.class.getName() + ".sleep'");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                em.persist(new Member("guard" + i, i % 100));
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("delete from Member m where m.username like 'guard%'").executeUpdate());
+    }
+
+    @Test
+    @DisplayName("검색 도중 클라이언트가 연결을 끊으면 실행 중인 쿼리를 취소하고 disconnected로 기록")
+    void cancelOnClientDisconnect() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Long> finishedNanos = new CompletableFuture<>();
+        doAnswer(invocation -> {
+            started.countDown();
+            try {
+                queryFactory.selectFrom(member)
+                        .where(member.username.startsWith("guard"),
+                                Expressions.numberTemplate(Integer.class, "function('query_guard_sleep', {0})", 5).eq(1))
+                        .fetch();
+                return invocation.callRealMethod();
+            } finally {
+                finishedNanos.complete(System.nanoTime());
+            }
+        }).when(memberSearchCoalescer).search(any());
+        double disconnectedBefore = count(MemberQueryGuard.REQUESTS_ABORTED, "reason", "disconnected");
+        double cancelledBefore = count(QueryMetrics.ABORTED, "reason", "cancelled");
+
+        // when
+        long closedAt;
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write("GET /v1/members HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(300); // 쿼리가 DB에서 실행 중일 때 끊음
+            closedAt = System.nanoTime();
+        }
+
+        // then (취소하지 않으면 MEMBER_COUNT * 5ms = 25초 동안 실행됨)
+        long finished = finishedNanos.get(15, TimeUnit.SECONDS);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(finished - closedAt)).isLessThan(10_000);
+        for (int i = 0; i < 50 && count(QueryMetrics.ABORTED, "reason", "cancelled") == cancelledBefore; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(count(MemberQueryGuard.REQUESTS_ABORTED, "reason", "disconnected")).isEqualTo(disconnectedBefore + 1);
+        //* 취소된 statement가 에러로 끝나면서 querydsl.query.aborted{reason=cancelled}로 기록됨 (= cancelQuery가 실행됨)
+        assertThat(count(QueryMetrics.ABORTED, "reason", "cancelled")).isGreaterThan(cancelledBefore);
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.find(name).tag(tag, value).counters().stream().mapToDouble(Counter::count).sum();
+    }
+}
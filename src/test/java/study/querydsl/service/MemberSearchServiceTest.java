@@ -0,0 +1,87 @@
+package study.querydsl.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchResult;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "member.search.max-result-rows=2",
+        "member.search.stats-ttl-ms=0"
+})
+@Transactional
+class MemberSearchServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberSearchService memberSearchService;
+
+    @Autowired
+    MemberSearchCostEstimator costEstimator;
+
+    @BeforeEach
+    void before() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamA));
+        em.persist(new Member("member4", 40, teamA));
+    }
+
+    @Test
+    @DisplayName("조건 없는 검색은 예산 초과로 잘려서 응답")
+    void cappedSearch() {
+        // when
+        MemberSearchResult result = memberSearchService.search(new MemberSearchCondition());
+
+        // then
+        assertThat(result.isCapped()).isTrue();
+        assertThat(result.getContents()).hasSize(2);
+        assertThat(result.getEstimatedCost().getAccess()).isEqualTo("full-scan");
+    }
+
+    @Test
+    @DisplayName("username 조건은 인덱스로 한 건만 읽는다고 추정")
+    void usernameSearch() {
+        // given
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+
+        // when
+        MemberSearchResult result = memberSearchService.search(condition);
+
+        // then
+        assertThat(result.isCapped()).isFalse();
+        assertThat(result.getContents()).extracting("username").containsExactly("member1");
+        assertThat(result.getEstimatedCost().getAccess()).isEqualTo("idx_member_username");
+        assertThat(result.getEstimatedCost().getResultRows()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("나이 범위는 min~max 분포로 선택도 추정")
+    void ageRangeEstimate() {
+        // given
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+        condition.setAgeLoe(10);
+
+        // when
+        long estimated = costEstimator.estimate(condition).getResultRows();
+        long total = costEstimator.estimate(new MemberSearchCondition()).getResultRows();
+
+        // then
+        assertThat(estimated).isLessThan(total);
+    }
+}
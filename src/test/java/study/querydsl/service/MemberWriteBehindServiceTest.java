@@ -0,0 +1,113 @@
+package study.querydsl.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberCreateRequest;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//! writer 스레드가 별도 트랜잭션으로 커밋하므로 @Transactional 없이 직접 정리
+@SpringBootTest
+class MemberWriteBehindServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberWriteBehindService memberWriteBehindService;
+
+    Long teamId;
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username like 'writeBehind%'").executeUpdate();
+            em.createQuery("delete from Team t where t.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("커밋 후 future 완료, 생성된 id 반환")
+    void submitTest() {
+        // given
+        teamId = new TransactionTemplate(transactionManager).execute(status -> {
+            Team team = new Team("writeBehindTeam");
+            em.persist(team);
+            return team.getId();
+        });
+
+        // when
+        List<CompletableFuture<Long>> futures = IntStream.range(0, 250)
+                .mapToObj(i -> memberWriteBehindService.submit(
+                        new MemberCreateRequest("writeBehind" + i, i, i % 2 == 0 ? teamId : null)))
+                .toList();
+        List<Long> ids = futures.stream().map(CompletableFuture::join).toList();
+
+        // then
+        assertThat(ids).doesNotContainNull().doesNotHaveDuplicates();
+        List<Member> saved = new TransactionTemplate(transactionManager).execute(status ->
+                em.createQuery("select m from Member m left join fetch m.team where m.id in :ids", Member.class)
+                        .setParameter("ids", ids)
+                        .getResultList());
+        assertThat(saved).hasSize(250);
+        assertThat(saved).filteredOn(member -> member.getTeam() != null).hasSize(125);
+    }
+
+    @Test
+    @DisplayName("없는 팀을 가리키는 요청만 실패하고 같은 배치의 다른 요청은 저장")
+    void unknownTeamFailsOnlyThatRequest() {
+        // given
+        teamId = new TransactionTemplate(transactionManager).execute(status -> {
+            Team team = new Team("writeBehindTeam");
+            em.persist(team);
+            return team.getId();
+        });
+        long unknownTeamId = Long.MAX_VALUE;
+
+        // when
+        List<CompletableFuture<Long>> futures = IntStream.range(0, 50)
+                .mapToObj(i -> memberWriteBehindService.submit(
+                        new MemberCreateRequest("writeBehind" + i, i, i == 25 ? unknownTeamId : teamId)))
+                .toList();
+
+        // then
+        assertThatThrownBy(() -> futures.get(25).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(InvalidMemberRequestException.class);
+        List<Long> ids = futures.stream()
+                .filter(future -> future != futures.get(25))
+                .map(CompletableFuture::join)
+                .toList();
+        assertThat(ids).hasSize(49).doesNotContainNull();
+    }
+
+    @Test
+    @DisplayName("잘못된 요청은 큐에 넣지 않고 바로 거절")
+    void rejectInvalidRequest() {
+        assertThatThrownBy(() -> memberWriteBehindService.submit(new MemberCreateRequest(" ", 10, null)))
+                .isInstanceOf(InvalidMemberRequestException.class);
+        assertThatThrownBy(() -> memberWriteBehindService.submit(new MemberCreateRequest("writeBehind", -1, null)))
+                .isInstanceOf(InvalidMemberRequestException.class);
+        assertThatThrownBy(() -> memberWriteBehindService.submit(new MemberCreateRequest("writeBehind", 10, 0L)))
+                .isInstanceOf(InvalidMemberRequestException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package study.querydsl.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//! member_count는 커밋 직전에 반영되므로 트랜잭션을 나눠서 검증
+@SpringBootTest
+class TeamMemberCountServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TeamMemberCountService teamMemberCountService;
+
+    TransactionTemplate tx;
+    Long teamAId;
+    Long teamBId;
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id in :teamIds")
+                    .setParameter("teamIds", List.of(teamAId, teamBId))
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id in :teamIds")
+                    .setParameter("teamIds", List.of(teamAId, teamBId))
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("회원 생성/팀 이동/삭제 시 member_count 갱신, bulk 연산 후 재계산")
+    void memberCountTest() {
+        // given
+        tx = new TransactionTemplate(transactionManager);
+        List<Long> memberIds = tx.execute(status -> {
+            Team teamA = new Team("countTeamA");
+            Team teamB = new Team("countTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+
+            Member member1 = new Member("count1", 10, teamA);
+            Member member2 = new Member("count2", 20, teamA);
+            Member member3 = new Member("count3", 30, teamA);
+            em.persist(member1);
+            em.persist(member2);
+            em.persist(member3);
+            return List.of(member1.getId(), member2.getId(), member3.getId());
+        });
+        assertThat(memberCount(teamAId)).isEqualTo(3);
+
+        // when: 팀 이동
+        tx.executeWithoutResult(status ->
+                em.find(Member.class, memberIds.get(0)).setTeam(em.getReference(Team.class, teamBId)));
+        // then
+        assertThat(memberCount(teamAId)).isEqualTo(2);
+        assertThat(memberCount(teamBId)).isEqualTo(1);
+
+        // when: 삭제
+        tx.executeWithoutResult(status -> em.remove(em.find(Member.class, memberIds.get(1))));
+        // then
+        assertThat(memberCount(teamAId)).isEqualTo(1);
+        assertThat(teamMemberCountService.findMismatches()).isEmpty();
+
+        // when: bulk 삭제는 이벤트가 없으므로 어긋났다가 재계산으로 복구
+        tx.executeWithoutResult(status -> em.createQuery("delete from Member m where m.id = :id")
+                .setParameter("id", memberIds.get(2))
+                .executeUpdate());
+        assertThat(teamMemberCountService.findMismatches()).extracting("teamId").containsExactly(teamAId);
+        teamMemberCountService.rebuildAll();
+
+        // then
+        assertThat(memberCount(teamAId)).isZero();
+        assertThat(teamMemberCountService.findMismatches()).isEmpty();
+    }
+
+    private long memberCount(Long teamId) {
+        return tx.execute(status -> em.createQuery("select t.memberCount from Team t where t.id = :teamId", Long.class)
+                .setParameter("teamId", teamId)
+                .getSingleResult());
+    }
+}
@@ -0,0 +1,102 @@
+package study.querydsl.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//! 스냅샷은 커밋된 데이터를 DB 전체 단위로 뜨고 복원하므로 트랜잭션 롤백 대신 직접 정리
+//! 복원이 DROP ALL OBJECTS를 실행하므로 다른 테스트와 같은 DB를 쓰지 않도록 전용 메모리 DB 사용 (컨텍스트도 따로 뜸)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:snapshot-test;DB_CLOSE_DELAY=-1")
+class DatabaseSnapshotsTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    DataSource dataSource;
+
+    @TempDir
+    Path snapshotDir;
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username like 'snapshot%'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'snapshotTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("처음엔 시드 후 스냅샷 생성, 다음엔 시드 없이 복원")
+    void restoreOrCaptureTest() {
+        // given
+        DatabaseSnapshots snapshots = new DatabaseSnapshots(dataSource, entityManagerFactory, true, snapshotDir);
+        int[] seeded = {0};
+        Runnable seeder = () -> {
+            seeded[0]++;
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Team team = new Team("snapshotTeam");
+                em.persist(team);
+                for (int i = 0; i < 3; i++) {
+                    em.persist(new Member("snapshot" + i, i, team));
+                }
+            });
+        };
+
+        // when
+        boolean firstRestored = snapshots.restoreOrCapture("snapshot-test", DatabaseSnapshotsTest.class, seeder);
+        cleanUp();
+        boolean secondRestored = snapshots.restoreOrCapture("snapshot-test", DatabaseSnapshotsTest.class, seeder);
+
+        // then
+        assertThat(firstRestored).isFalse();
+        assertThat(secondRestored).isTrue();
+        assertThat(seeded[0]).isEqualTo(1);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from member where username like 'snapshot%'", Long.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "select member_count from team where name = 'snapshotTeam'", Long.class)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("스키마(엔티티 매핑)가 바뀌면 스냅샷 키도 바뀜")
+    void fingerprintTest() {
+        // given
+        DatabaseSnapshots snapshots = new DatabaseSnapshots(dataSource, entityManagerFactory, true, snapshotDir);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        String before = snapshots.fingerprint("snapshot-test", DatabaseSnapshotsTest.class);
+
+        // when
+        jdbcTemplate.execute("alter table member add column snapshot_probe int");
+        String changed;
+        try {
+            changed = snapshots.fingerprint("snapshot-test", DatabaseSnapshotsTest.class);
+        } finally {
+            jdbcTemplate.execute("alter table member drop column snapshot_probe");
+        }
+
+        // then
+        assertThat(changed).isNotEqualTo(before);
+        assertThat(snapshots.fingerprint("snapshot-test", DatabaseSnapshotsTest.class)).isEqualTo(before);
+        assertThat(snapshots.fingerprint("other-data-set", DatabaseSnapshotsTest.class)).isNotEqualTo(before);
+    }
+}
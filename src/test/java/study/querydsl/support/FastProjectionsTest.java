@@ -0,0 +1,209 @@
+package study.querydsl.support;
+
+import com.querydsl.core.types.ExpressionException;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.UserDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class FastProjectionsTest {
+
+    @Autowired
+    EntityManager em;
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    void before() {
+        queryFactory = new JPAQueryFactory(em);
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("fast1", 10, teamA));
+        em.persist(new Member("fast2", 20, teamA));
+    }
+
+    @Test
+    @DisplayName("setter 주입")
+    void bean() {
+        List<MemberDto> result = queryFactory
+                .select(FastProjections.bean(MemberDto.class, member.username, member.age))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+
+        assertThat(result).extracting("username", "age")
+                .containsExactly(tuple("fast1", 10), tuple("fast2", 20));
+    }
+
+    @Test
+    @DisplayName("필드 주입 + 별칭, 서브쿼리 별칭")
+    void fieldsWithAlias() {
+        QMember memberSub = new QMember("memberSub");
+
+        List<UserDto> result = queryFactory
+                .select(FastProjections.fields(UserDto.class,
+                        member.username.as("name"),
+                        ExpressionUtils.as(JPAExpressions
+                                .select(memberSub.age.max())
+                                .from(memberSub)
+                                .where(memberSub.username.startsWith("fast")), "age")))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+
+        assertThat(result).extracting("name").containsExactly("fast1", "fast2");
+        assertThat(result).extracting("age").containsOnly(20);
+    }
+
+    @Test
+    @DisplayName("생성자 주입")
+    void constructor() {
+        List<UserDto> result = queryFactory
+                .select(FastProjections.constructor(UserDto.class, member.username, member.age))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+
+        assertThat(result).extracting("name").containsExactly("fast1", "fast2");
+        assertThat(result).extracting("age").containsExactly(10, 20);
+    }
+
+    @Test
+    @DisplayName("생성자 주입: primitive 파라미터에 NULL이면 Projections.constructor처럼 기본값")
+    void constructorPrimitiveNull() {
+        QMember memberSub = new QMember("memberSub");
+        // 조건에 맞는 row가 없어서 max()가 NULL
+        JPQLQuery<Integer> noAge = JPAExpressions.select(memberSub.age.max()).from(memberSub).where(memberSub.username.eq("none"));
+
+        List<UserDto> fast = queryFactory
+                .select(FastProjections.constructor(UserDto.class, member.username, noAge))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+        List<UserDto> querydsl = queryFactory
+                .select(Projections.constructor(UserDto.class, member.username, noAge))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+
+        assertThat(fast).extracting("age").containsExactly(0, 0);
+        assertThat(fast).isEqualTo(querydsl);
+    }
+
+    @Test
+    @DisplayName("생성자 주입: 가변 인자 생성자")
+    void constructorVarArgs() {
+        List<Names> result = queryFactory
+                .select(FastProjections.constructor(Names.class, member.age, member.username, team.name))
+                .from(member)
+                .join(member.team, team)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+
+        assertThat(result).extracting("age").containsExactly(10, 20);
+        assertThat(result).extracting("names").containsExactly(List.of("fast1", "teamA"), List.of("fast2", "teamA"));
+    }
+
+    @Test
+    @DisplayName("bean/fields: 대상 프로퍼티가 없는 별칭은 Projections.bean/fields처럼 무시")
+    void unknownPropertyIgnored() {
+        List<MemberDto> fast = queryFactory
+                .select(FastProjections.bean(MemberDto.class, member.username, member.age.as("nickname")))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+        List<MemberDto> querydsl = queryFactory
+                .select(Projections.bean(MemberDto.class, member.username, member.age.as("nickname")))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+        List<UserDto> fields = queryFactory
+                .select(FastProjections.fields(UserDto.class, member.username, member.age))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+
+        assertThat(fast).extracting("username", "age")
+                .containsExactly(tuple("fast1", 0), tuple("fast2", 0));
+        assertThat(fast).isEqualTo(querydsl);
+        assertThat(fields).extracting("name").containsOnlyNulls();
+        assertThat(fields).extracting("age").containsExactly(10, 20);
+    }
+
+    @Test
+    @DisplayName("strictBean/strictFields: 대상 프로퍼티가 없는 별칭은 생성 시점에 예외")
+    void unknownPropertyStrict() {
+        assertThatThrownBy(() -> FastProjections.strictBean(MemberDto.class, member.username.as("nickname")))
+                .isInstanceOf(ExpressionException.class);
+        assertThatThrownBy(() -> FastProjections.strictFields(UserDto.class, member.username, member.age))
+                .isInstanceOf(ExpressionException.class);
+
+        List<MemberDto> result = queryFactory
+                .select(FastProjections.strictBean(MemberDto.class, member.username, member.age))
+                .from(member)
+                .where(member.username.startsWith("fast"))
+                .orderBy(member.age.asc())
+                .fetch();
+        assertThat(result).extracting("username", "age")
+                .containsExactly(tuple("fast1", 10), tuple("fast2", 20));
+    }
+
+    @Test
+    @DisplayName("bean/fields: 타입이 맞지 않는 별칭은 strict 여부와 상관없이 생성 시점에 예외")
+    void typeMismatch() {
+        assertThatThrownBy(() -> FastProjections.fields(UserDto.class, member.age.as("name")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FastProjections.strictFields(UserDto.class, member.age.as("name")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public static class Names {
+
+        private final int age;
+        private final List<String> names;
+
+        public Names(int age, String... names) {
+            this.age = age;
+            this.names = List.of(names);
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public List<String> getNames() {
+            return names;
+        }
+    }
+}
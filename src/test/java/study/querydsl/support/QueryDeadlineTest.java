@@ -0,0 +1,112 @@
+package study.querydsl.support;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.QMember;
+import study.querydsl.repository.MemberJpaRepository;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//! 다른 스레드에서 실행되는 쿼리가 데이터를 봐야 하므로 @Transactional 없이 커밋하고 직접 정리
+@SpringBootTest
+class QueryDeadlineTest {
+
+    static final long ID_OFFSET = 5_000_000_000L;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createNativeQuery("delete from member where member_id > " + ID_OFFSET).executeUpdate());
+    }
+
+    @Test
+    @DisplayName("이미 취소된 요청의 쿼리는 DB에 보내지 않고 cancelled로 기록")
+    void cancelledBeforeExecution() {
+        // given
+        QueryDeadline deadline = QueryDeadline.start("test", Duration.ofSeconds(10));
+        deadline.cancel();
+        double before = aborted("cancelled");
+
+        // when, then
+        assertThatThrownBy(() -> deadline.call(() -> memberJpaRepository.search(new MemberSearchCondition())))
+                .isInstanceOf(QueryCancelledException.class);
+        assertThat(aborted("cancelled")).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("시간 예산이 지난 요청의 쿼리는 timeout으로 실패하고 timeout으로 기록")
+    void expiredBeforeExecution() {
+        // given
+        QueryDeadline deadline = QueryDeadline.start("test", Duration.ZERO);
+        double before = aborted("timeout");
+
+        // when, then
+        assertThatThrownBy(() -> deadline.call(() -> memberJpaRepository.search(new MemberSearchCondition())))
+                .isInstanceOf(QueryTimeoutException.class);
+        assertThat(aborted("timeout")).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("실행 중인 statement를 다른 스레드에서 취소")
+    void cancelRunningStatement() throws Exception {
+        // given: 2000^3 row를 세는 느린 쿼리
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createNativeQuery("insert into member (member_id, username, age) "
+                                + "select " + ID_OFFSET + " + x, 'deadline' || x, mod(x, 100) from system_range(1, 2000)")
+                        .executeUpdate());
+        QMember m1 = new QMember("m1");
+        QMember m2 = new QMember("m2");
+        QMember m3 = new QMember("m3");
+        QueryDeadline deadline = QueryDeadline.start("test", Duration.ofMinutes(1));
+        CompletableFuture<Long> running = CompletableFuture.supplyAsync(() -> deadline.call(() -> queryFactory
+                .select(m1.count())
+                .from(m1, m2, m3)
+                .where(m1.id.gt(ID_OFFSET), m2.id.gt(ID_OFFSET), m3.id.gt(ID_OFFSET))
+                .fetchOne()));
+        Thread.sleep(500);
+
+        // when
+        long start = System.nanoTime();
+        deadline.cancel();
+
+        // then
+        assertThatThrownBy(() -> running.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(QueryCancelledException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+    }
+
+    private double aborted(String reason) {
+        return meterRegistry.find(QueryMetrics.ABORTED).tags("reason", reason).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
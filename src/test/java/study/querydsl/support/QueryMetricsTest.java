@@ -0,0 +1,188 @@
+package study.querydsl.support;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberFetchPlan;
+import study.querydsl.repository.MemberJpaRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class QueryMetricsTest {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    InstrumentedJPAQueryFactory queryFactory;
+
+    @Test
+    @DisplayName("리포지토리 메서드와 where 모양 태그로 시간/row 수 기록")
+    void recordQueryMetrics() {
+        // given
+        memberJpaRepository.save(new Member("metrics1", 10));
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("metrics1");
+        condition.setAgeGoe(5);
+
+        // when
+        memberJpaRepository.search(condition);
+
+        // then
+        Timer timer = meterRegistry.find(QueryMetrics.TIMER)
+                .tags("method", "MemberJpaRepository.search",
+                        "operation", "fetch",
+                        "shape", "member.age,member.username",
+                        "outcome", "success")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.find(QueryMetrics.ROWS).tags("method", "MemberJpaRepository.search").summary())
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("method 태그는 named로 넘긴 리포지토리 메서드 (fetch plan/람다 안에서 실행돼도 같음)")
+    void namedMethodTag() {
+        // given
+        memberJpaRepository.save(new Member("metrics2", 20));
+
+        // when
+        memberJpaRepository.findByUsername("metrics2", MemberFetchPlan.MEMBER_WITH_TEAM_BATCH);
+
+        // then
+        assertThat(meterRegistry.find(QueryMetrics.TIMER)
+                .tags("method", "MemberJpaRepository.findByUsername", "operation", "fetch", "shape", "member.username")
+                .timer()).isNotNull();
+        assertThat(meterRegistry.find(QueryMetrics.FETCH_PLAN)
+                .tags("method", "MemberJpaRepository.findByUsername", "plan", "member-with-team-batch")
+                .timer()).isNotNull();
+        assertThat(meterRegistry.find(QueryMetrics.TIMER).tag("method", "MemberFetchPlan.fetch").timers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("stream: 읽는 도중 실패하면 닫기 전에 그 outcome으로 한 번만 기록")
+    void streamFailsWhileReading() {
+        // given: 두 번째 row를 변환할 때 실패
+        memberJpaRepository.save(new Member("streamOk", 10));
+        memberJpaRepository.save(new Member("streamFail", 20));
+
+        // when
+        assertThatThrownBy(() -> {
+            try (Stream<StreamRow> rows = queryFactory.named("QueryMetricsTest.streamFailsWhileReading")
+                    .select(Projections.constructor(StreamRow.class, member.username))
+                    .from(member)
+                    .where(member.username.startsWith("stream"))
+                    .orderBy(member.age.asc())
+                    .stream()) {
+                rows.forEach(row -> {
+                });
+            }
+        }).isInstanceOf(RuntimeException.class);
+
+        // then
+        List<Timer> timers = List.copyOf(meterRegistry.find(QueryMetrics.TIMER)
+                .tags("method", "QueryMetricsTest.streamFailsWhileReading", "operation", "stream")
+                .timers());
+        assertThat(timers).hasSize(1);
+        assertThat(timers.get(0).getId().getTag("outcome")).isNotEqualTo("success");
+        assertThat(timers.get(0).count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("stream: 소비하는 쪽 콜백의 예외는 쿼리 실패가 아니므로 닫힐 때 success로 기록")
+    void streamConsumerFails() {
+        // given
+        memberJpaRepository.save(new Member("streamConsumer", 10));
+
+        // when
+        assertThatThrownBy(() -> {
+            try (Stream<String> rows = queryFactory.named("QueryMetricsTest.streamConsumerFails")
+                    .select(member.username)
+                    .from(member)
+                    .where(member.username.eq("streamConsumer"))
+                    .stream()) {
+                rows.forEach(row -> {
+                    throw new IllegalStateException("consumer");
+                });
+            }
+        }).isInstanceOf(IllegalStateException.class).hasMessage("consumer");
+
+        // then
+        Timer timer = meterRegistry.find(QueryMetrics.TIMER)
+                .tags("method", "QueryMetricsTest.streamConsumerFails", "operation", "stream")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.getId().getTag("outcome")).isEqualTo("success");
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("태그 조합별 Meter는 한 번만 등록하고, 쿼리당 계측 오버헤드는 5µs 이하")
+    void overheadBudget() throws Exception {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryMetrics metrics = new QueryMetrics(registry);
+        Predicate where = member.username.eq("member1")
+                .and(team.name.eq("teamA"))
+                .and(member.age.goe(10))
+                .and(member.age.loe(40));
+        List<Integer> rows = List.of(1, 2, 3);
+        int iterations = 100_000;
+
+        // when (JIT 워밍업 후 가장 빠른 라운드 사용)
+        long[] bestNanos = {Long.MAX_VALUE};
+        Thread thread = new Thread(() -> {
+            for (int round = 0; round < 5; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    metrics.record("MemberRepository.search", "fetch", where, () -> rows, List::size);
+                }
+                bestNanos[0] = Math.min(bestNanos[0], (System.nanoTime() - start) / iterations);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        // then
+        assertThat(registry.find(QueryMetrics.TIMER).timers()).hasSize(1);
+        assertThat(registry.find(QueryMetrics.TIMER).timer().count()).isEqualTo(5L * iterations);
+        assertThat(bestNanos[0]).isLessThanOrEqualTo(5_000);
+    }
+
+    public static class StreamRow {
+
+        private final String username;
+
+        public StreamRow(String username) {
+            if (username.equals("streamFail")) {
+                throw new IllegalStateException("cannot convert " + username);
+            }
+            this.username = username;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package study.querydsl.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("같은 키로 동시에 들어온 호출은 한 번만 실행하고 결과를 공유")
+    void coalesceConcurrentCalls() throws Exception {
+        // given
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", Duration.ofSeconds(10), new SimpleMeterRegistry());
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(10)) {
+            Future<Integer> leader = executor.submit(() -> flight.execute("key", () -> {
+                calls.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return 42;
+            }));
+            leaderStarted.await();
+
+            // when
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 9; i++) {
+                followers.add(executor.submit(() -> flight.execute("key", () -> calls.incrementAndGet() * 100)));
+            }
+            Thread.sleep(200); // 합류한 호출들이 leader 결과를 기다리는 상태가 될 때까지
+            release.countDown();
+
+            // then
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            for (Future<Integer> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(flight.stats().executed()).isEqualTo(1);
+        assertThat(flight.stats().joined()).isEqualTo(9);
+        assertThat(flight.stats().inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("leader의 예외는 합류한 호출에도 전달되고, 끝난 키는 다시 실행")
+    void shareFailureAndForget() throws Exception {
+        // given
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", Duration.ofSeconds(10), new SimpleMeterRegistry());
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Integer> leader = executor.submit(() -> flight.execute("key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new IllegalArgumentException("boom");
+            }));
+            leaderStarted.await();
+            Future<Integer> follower = executor.submit(() -> flight.execute("key", () -> 1));
+            Thread.sleep(100);
+
+            // when
+            release.countDown();
+
+            // then
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(flight.execute("key", () -> 7)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("leader가 취소되면 합류한 호출은 취소를 공유하지 않고 직접 실행")
+    void fallBackWhenLeaderCancelled() throws Exception {
+        // given
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", Duration.ofSeconds(10), new SimpleMeterRegistry());
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Integer> leader = executor.submit(() -> flight.execute("key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new QueryCancelledException("test");
+            }));
+            leaderStarted.await();
+            Future<Integer> follower = executor.submit(() -> flight.execute("key", () -> 2));
+            Thread.sleep(100); // follower가 leader 결과를 기다리는 상태가 될 때까지
+
+            // when
+            release.countDown();
+
+            // then
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(QueryCancelledException.class);
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        }
+        assertThat(flight.stats().executed()).isEqualTo(2);
+        assertThat(flight.stats().joined()).isZero();
+        assertThat(flight.stats().timedOut()).isZero();
+        assertThat(flight.stats().inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("키의 timeout이 지나면 기다리던 호출은 직접 실행")
+    void fallBackAfterTimeout() throws Exception {
+        // given
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", Duration.ofMillis(100), new SimpleMeterRegistry());
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<Integer> leader = executor.submit(() -> flight.execute("key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return 1;
+            }));
+            leaderStarted.await();
+
+            // when
+            Integer result = flight.execute("key", () -> 2);
+
+            // then
+            assertThat(result).isEqualTo(2);
+            assertThat(flight.stats().timedOut()).isEqualTo(1);
+            assertThat(flight.stats().inFlight()).isZero();
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        assertThat(flight.stats().executed()).isEqualTo(2);
+        assertThat(flight.stats().joined()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}